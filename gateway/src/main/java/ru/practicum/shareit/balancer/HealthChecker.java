@@ -0,0 +1,80 @@
+package ru.practicum.shareit.balancer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// активная проверка: экземпляр выводится из балансировки после unhealthyThreshold неудачных проверок подряд
+// и возвращается после healthyThreshold удачных; исключение по ошибкам запросов действует независимо от проверок
+@Slf4j
+public class HealthChecker implements AutoCloseable {
+
+    private final LoadBalancer loadBalancer;
+    private final String path;
+    private final Duration interval;
+    private final Duration timeout;
+    private final int healthyThreshold;
+    private final int unhealthyThreshold;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+
+    public HealthChecker(LoadBalancer loadBalancer, String path, Duration interval, Duration timeout,
+                         int healthyThreshold, int unhealthyThreshold) {
+        this.loadBalancer = loadBalancer;
+        this.path = path;
+        this.interval = interval;
+        this.timeout = timeout;
+        this.healthyThreshold = healthyThreshold;
+        this.unhealthyThreshold = unhealthyThreshold;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("upstream-health-check").daemon().factory());
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void checkAll() {
+        for (ServerEndpoint endpoint : loadBalancer.getEndpoints()) {
+            boolean wasHealthy = endpoint.isHealthy();
+            endpoint.onHealthCheck(check(endpoint), healthyThreshold, unhealthyThreshold);
+            if (wasHealthy != endpoint.isHealthy()) {
+                log.warn("Экземпляр shareit-server {} {}", endpoint,
+                        endpoint.isHealthy() ? "снова доступен" : "не проходит проверку и исключён из балансировки");
+            }
+        }
+    }
+
+    private boolean check(ServerEndpoint endpoint) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint.getBaseUri().resolve(URI.create(path)))
+                .timeout(timeout)
+                .GET()
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.debug("Проверка {} не прошла: {}", endpoint, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        httpClient.close();
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.balancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// если доступных экземпляров не осталось, запросы распределяются по всем: лучше попробовать, чем отказать сразу
+@Slf4j
+public class LoadBalancer {
+
+    private static final int VIRTUAL_NODES = 128;
+
+    private final List<ServerEndpoint> endpoints;
+    private final Strategy strategy;
+    private final NavigableMap<Long, ServerEndpoint> ring = new TreeMap<>();
+    private final int consecutiveFailuresToEject;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectedEndpoints;
+
+    public LoadBalancer(List<ServerEndpoint> endpoints, Strategy strategy, int consecutiveFailuresToEject,
+                        long baseEjectionNanos, long maxEjectionNanos, int maxEjectionPercent) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один экземпляр shareit-server");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.strategy = strategy;
+        this.consecutiveFailuresToEject = consecutiveFailuresToEject;
+        this.baseEjectionNanos = baseEjectionNanos;
+        this.maxEjectionNanos = maxEjectionNanos;
+        this.maxEjectedEndpoints = endpoints.size() * maxEjectionPercent / 100;
+
+        for (ServerEndpoint endpoint : this.endpoints) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(endpoint.getBaseUri() + "#" + i), endpoint);
+            }
+        }
+    }
+
+    public ServerEndpoint choose(@Nullable String userId) {
+        boolean anyAvailable = endpoints.stream().anyMatch(ServerEndpoint::isAvailable);
+        if (strategy == Strategy.USER_HASH && userId != null) {
+            return chooseByHash(userId, anyAvailable);
+        }
+        return chooseLeastOutstanding(anyAvailable);
+    }
+
+    public List<ServerEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void onSuccess(ServerEndpoint endpoint) {
+        endpoint.onSuccess();
+    }
+
+    public void onFailure(ServerEndpoint endpoint) {
+        if (endpoint.onFailure() < consecutiveFailuresToEject) {
+            return;
+        }
+        synchronized (this) {
+            long ejected = endpoints.stream().filter(ServerEndpoint::isEjected).count();
+            if (!endpoint.isEjected() && ejected < maxEjectedEndpoints) {
+                endpoint.eject(baseEjectionNanos, maxEjectionNanos);
+                log.warn("Экземпляр shareit-server {} исключён из балансировки после {} ошибок подряд",
+                        endpoint, consecutiveFailuresToEject);
+            }
+        }
+    }
+
+    // перебор со случайной точки, чтобы при равной нагрузке запросы не уходили всегда на первый экземпляр
+    private ServerEndpoint chooseLeastOutstanding(boolean anyAvailable) {
+        int start = ThreadLocalRandom.current().nextInt(endpoints.size());
+        ServerEndpoint best = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            ServerEndpoint candidate = endpoints.get((start + i) % endpoints.size());
+            if (anyAvailable && !candidate.isAvailable()) {
+                continue;
+            }
+            if (best == null || candidate.getOutstanding() < best.getOutstanding()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    // пользователь попадает на тот же экземпляр, пока тот доступен; при его выходе переезжают только его пользователи
+    private ServerEndpoint chooseByHash(String userId, boolean anyAvailable) {
+        Map.Entry<Long, ServerEndpoint> entry = ring.ceilingEntry(hash(userId));
+        if (entry == null) {
+            entry = ring.firstEntry();
+        }
+        while (anyAvailable && !entry.getValue().isAvailable()) {
+            entry = ring.higherEntry(entry.getKey());
+            if (entry == null) {
+                entry = ring.firstEntry();
+            }
+        }
+        return entry.getValue();
+    }
+
+    // FNV-1a с финальным перемешиванием SplitMix64, чтобы близкие строки расходились по кольцу
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    public enum Strategy {
+        LEAST_OUTSTANDING,
+        USER_HASH;
+
+        public static Strategy of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+}
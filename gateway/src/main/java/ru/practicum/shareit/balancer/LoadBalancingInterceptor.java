@@ -0,0 +1,110 @@
+package ru.practicum.shareit.balancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.constant.Headers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// клиенты строят адреса от shareit-server.url, здесь в них подставляется выбранный экземпляр;
+// запрос считается незавершённым, пока не закрыт ответ, то есть пока не прочитано его тело
+@RequiredArgsConstructor
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final LoadBalancer loadBalancer;
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        ServerEndpoint endpoint = loadBalancer.choose(request.getHeaders().getFirst(Headers.USER_ID_HEADER_NAME));
+        URI endpointUri = endpoint.getBaseUri();
+        URI uri = UriComponentsBuilder.fromUri(request.getURI())
+                .scheme(endpointUri.getScheme())
+                .host(endpointUri.getHost())
+                .port(endpointUri.getPort())
+                .build(true)
+                .toUri();
+
+        endpoint.onStart();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                @NonNull
+                public URI getURI() {
+                    return uri;
+                }
+            }, body);
+        } catch (IOException | RuntimeException e) {
+            endpoint.onFinish();
+            loadBalancer.onFailure(endpoint);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            loadBalancer.onFailure(endpoint);
+        } else {
+            loadBalancer.onSuccess(endpoint);
+        }
+        return new TrackedResponse(response, endpoint);
+    }
+
+    private static final class TrackedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ServerEndpoint endpoint;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private TrackedResponse(ClientHttpResponse delegate, ServerEndpoint endpoint) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        @NonNull
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        @NonNull
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        @NonNull
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    endpoint.onFinish();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.balancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// состояние одного экземпляра shareit-server: незавершённые запросы, пассивные и активные проверки
+public class ServerEndpoint {
+
+    private final URI baseUri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntilNanos;
+    private int ejections;
+    private int healthCheckSuccesses;
+    private int healthCheckFailures;
+
+    public ServerEndpoint(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public boolean isEjected() {
+        return ejectedUntilNanos - System.nanoTime() > 0;
+    }
+
+    public boolean isAvailable() {
+        return healthy && !isEjected();
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    void onFinish() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    int onFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    // каждое следующее исключение подряд держит экземпляр вне балансировки дольше, но не больше maxEjectionNanos
+    synchronized void eject(long baseEjectionNanos, long maxEjectionNanos) {
+        ejections++;
+        long ejectionNanos = Math.min(maxEjectionNanos, baseEjectionNanos * Math.min(ejections, 64));
+        ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+        consecutiveFailures.set(0);
+    }
+
+    synchronized void onHealthCheck(boolean passed, int healthyThreshold, int unhealthyThreshold) {
+        if (passed) {
+            healthCheckFailures = 0;
+            healthCheckSuccesses++;
+            if (!healthy && healthCheckSuccesses >= healthyThreshold) {
+                healthy = true;
+                ejections = 0;
+            }
+        } else {
+            healthCheckSuccesses = 0;
+            healthCheckFailures++;
+            if (healthy && healthCheckFailures >= unhealthyThreshold) {
+                healthy = false;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return baseUri.toString();
+    }
+}
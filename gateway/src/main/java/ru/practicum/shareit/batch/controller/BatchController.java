@@ -0,0 +1,33 @@
+package ru.practicum.shareit.batch.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.service.BatchExecutor;
+
+import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/batch")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+
+    @PostMapping
+    public BatchResponseDto executeBatch(@RequestHeader(value = USER_ID_HEADER_NAME, required = false) Long userId,
+                                         @Valid @RequestBody BatchRequestDto batchDto,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        return batchExecutor.execute(request, response, userId, batchDto);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEntryRequestDto {
+
+    private String id;
+
+    @NotBlank(message = "Метод подзапроса должен быть указан")
+    private String method;
+
+    @NotBlank(message = "Путь подзапроса должен быть указан")
+    @Pattern(regexp = "/.*", message = "Путь подзапроса должен начинаться с /")
+    private String path;
+
+    // например If-None-Match; X-Sharer-User-Id всегда берётся из заголовка самого пакета
+    private Map<String, String> headers;
+
+    @ToString.Exclude
+    private JsonNode body;
+}
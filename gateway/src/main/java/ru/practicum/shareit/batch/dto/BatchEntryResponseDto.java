@@ -0,0 +1,34 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+
+// тело ответа shareit-server вставляется как есть, без повторного разбора JSON
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchEntryResponseDto {
+
+    private String id;
+
+    private int status;
+
+    // ETag, X-Next-Cursor и другие заголовки ответа подзапроса, кроме описывающих само тело
+    private Map<String, String> headers;
+
+    @JsonRawValue
+    @ToString.Exclude
+    private String body;
+}
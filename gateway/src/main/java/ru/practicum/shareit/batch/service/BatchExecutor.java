@@ -0,0 +1,250 @@
+package ru.practicum.shareit.batch.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import ru.practicum.shareit.batch.dto.BatchEntryRequestDto;
+import ru.practicum.shareit.batch.dto.BatchEntryResponseDto;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.metrics.RouteMetricsFilter;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.Tracer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
+
+// подзапросы проходят через отдельный DispatcherServlet с теми же контроллерами, перехватчиками и ErrorHandler,
+// что и обычные запросы: маршруты, валидация, ограничение частоты, If-None-Match и метрики маршрутов общие.
+// Выполняются параллельно на виртуальных потоках; порядок ответов совпадает с порядком подзапросов
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchExecutor implements SmartInitializingSingleton, AutoCloseable {
+
+    private static final String SERVLET_NAME = "batch";
+
+    // пользователь подзапроса всегда тот же, что у пакета, а тело описывается полем body
+    private static final Set<String> IGNORED_ENTRY_HEADERS = Set.of(
+            USER_ID_HEADER_NAME.toLowerCase(Locale.ROOT), "content-type", "content-length", "content-encoding");
+
+    private static final Set<String> BODY_HEADERS = Set.of("content-type", "content-length", "content-encoding");
+
+    private final WebApplicationContext context;
+    private final ObjectMapper objectMapper;
+    private final RouteMetricsFilter routeMetricsFilter;
+    private final int maxRequests;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private DispatcherServlet dispatcher;
+
+    public BatchExecutor(WebApplicationContext context, ObjectMapper objectMapper,
+                         ObjectProvider<RouteMetricsFilter> routeMetricsFilter,
+                         @Value("${shareit-server.batch.max-requests:20}") int maxRequests) {
+        this.context = context;
+        this.objectMapper = objectMapper;
+        this.routeMetricsFilter = routeMetricsFilter.getIfAvailable();
+        this.maxRequests = maxRequests;
+    }
+
+    // стратегии DispatcherServlet собираются из контекста, поэтому он создаётся после всех бинов
+    @Override
+    public void afterSingletonsInstantiated() {
+        DispatcherServlet servlet = new DispatcherServlet(context);
+        servlet.setPublishContext(false);
+        try {
+            servlet.init(new BatchServletConfig(context.getServletContext()));
+        } catch (ServletException e) {
+            throw new IllegalStateException("Не удалось подготовить DispatcherServlet для подзапросов пакета", e);
+        }
+        dispatcher = servlet;
+    }
+
+    public BatchResponseDto execute(HttpServletRequest batchRequest, HttpServletResponse batchResponse,
+                                    @Nullable Long userId, BatchRequestDto batchDto) {
+        List<BatchEntryRequestDto> entries = batchDto.getRequests();
+        if (entries.size() > maxRequests) {
+            throw new IllegalArgumentException("В пакете не может быть больше " + maxRequests + " подзапросов");
+        }
+        log.info("Пакет из {} подзапросов от пользователя с userId={}", entries.size(), userId);
+
+        Span span = Tracer.currentSpan();
+        List<CompletableFuture<BatchEntryResponseDto>> responses = entries.stream()
+                .map(entry -> CompletableFuture.supplyAsync(
+                        () -> Tracer.callInSpan(span, () -> executeEntry(batchRequest, batchResponse, userId, entry)),
+                        executor))
+                .toList();
+
+        return new BatchResponseDto(responses.stream()
+                .map(CompletableFuture::join)
+                .toList());
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private BatchEntryResponseDto executeEntry(HttpServletRequest batchRequest, HttpServletResponse batchResponse,
+                                               @Nullable Long userId, BatchEntryRequestDto entry) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(entry.getPath()).build();
+        String path = uri.getPath() != null ? uri.getPath() : "/";
+        if (isExcluded(path)) {
+            return errorResponse(entry, HttpStatus.NOT_FOUND, "Ресурс не найден",
+                    "Маршрут " + path + " недоступен в пакете");
+        }
+
+        BatchSubRequest request = subRequest(batchRequest, userId, entry, uri, path);
+        BatchSubResponse response = new BatchSubResponse(batchResponse);
+        try {
+            if (routeMetricsFilter != null) {
+                routeMetricsFilter.doFilter(request, response, dispatcher::service);
+            } else {
+                dispatcher.service(request, response);
+            }
+        } catch (ServletException | IOException | RuntimeException e) {
+            log.error("Ошибка подзапроса {} {}: {}", entry.getMethod(), entry.getPath(), e.getMessage(), e);
+            return errorResponse(entry, HttpStatus.INTERNAL_SERVER_ERROR, "Внутренняя ошибка сервера",
+                    "Произошла непредвиденная ошибка");
+        }
+        return toEntryResponse(entry, response);
+    }
+
+    // вложенный пакет занял бы поток на время всех своих подзапросов, а actuator не часть API
+    private static boolean isExcluded(String path) {
+        return path.equals("/batch") || path.startsWith("/batch/") || path.startsWith("/actuator");
+    }
+
+    private BatchSubRequest subRequest(HttpServletRequest batchRequest, @Nullable Long userId,
+                                       BatchEntryRequestDto entry, UriComponents uri, String path) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        uri.getQueryParams().forEach((name, values) -> parameters.put(decode(name), values.stream()
+                .map(value -> value != null ? decode(value) : "")
+                .toArray(String[]::new)));
+
+        HttpHeaders headers = new HttpHeaders();
+        if (entry.getHeaders() != null) {
+            entry.getHeaders().forEach((name, value) -> {
+                if (!IGNORED_ENTRY_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.add(name, value);
+                }
+            });
+        }
+        if (userId != null) {
+            headers.set(USER_ID_HEADER_NAME, String.valueOf(userId));
+        }
+        if (!headers.containsKey(HttpHeaders.ACCEPT)) {
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        }
+
+        byte[] body = new byte[0];
+        if (entry.getBody() != null && !entry.getBody().isNull()) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            try {
+                body = objectMapper.writeValueAsBytes(entry.getBody());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Не удалось сериализовать тело подзапроса", e);
+            }
+        }
+        return new BatchSubRequest(batchRequest, entry.getMethod().trim().toUpperCase(Locale.ROOT), path,
+                uri.getQuery(), parameters, headers, body);
+    }
+
+    // ответ без тела с кодом ошибки — sendError до ErrorHandler; клиент пакета всё равно получает ErrorResponse
+    private BatchEntryResponseDto toEntryResponse(BatchEntryRequestDto entry, BatchSubResponse response) {
+        byte[] content = response.getContentAsByteArray();
+        if (content.length == 0 && response.getStatus() >= HttpStatus.BAD_REQUEST.value()) {
+            String description = response.getErrorMessage() != null
+                    ? response.getErrorMessage()
+                    : "Код ответа " + response.getStatus();
+            return errorResponse(entry, response.getStatus(), "Ошибка подзапроса", description);
+        }
+        return new BatchEntryResponseDto(entry.getId(), response.getStatus(), headers(response),
+                content.length > 0 ? new String(content, StandardCharsets.UTF_8) : null);
+    }
+
+    @Nullable
+    private static Map<String, String> headers(BatchSubResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.getResponseHeaders().forEach((name, values) -> {
+            if (!BODY_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, String.join(", ", values));
+            }
+        });
+        return headers.isEmpty() ? null : headers;
+    }
+
+    private BatchEntryResponseDto errorResponse(BatchEntryRequestDto entry, HttpStatus status, String error,
+                                                String description) {
+        return errorResponse(entry, status.value(), error, description);
+    }
+
+    private BatchEntryResponseDto errorResponse(BatchEntryRequestDto entry, int status, String error,
+                                                String description) {
+        ErrorResponse body = new ErrorResponse(error, description, entry.getPath(), LocalDateTime.now(), status);
+        try {
+            return new BatchEntryResponseDto(entry.getId(), status, null, objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать ответ подзапроса", e);
+        }
+    }
+
+    private static String decode(String value) {
+        return UriUtils.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private record BatchServletConfig(ServletContext servletContext) implements ServletConfig {
+
+        @Override
+        public String getServletName() {
+            return SERVLET_NAME;
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return servletContext;
+        }
+
+        @Override
+        public String getInitParameter(String name) {
+            return null;
+        }
+
+        @Override
+        public Enumeration<String> getInitParameterNames() {
+            return Collections.emptyEnumeration();
+        }
+    }
+}
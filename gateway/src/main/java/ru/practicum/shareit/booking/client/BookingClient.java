@@ -1,45 +1,73 @@
 package ru.practicum.shareit.booking.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.NewBookingRequestDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.UpstreamCodec;
+import ru.practicum.shareit.resilience.UpstreamGuards;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
+    private static final String PAGE_QUERY = "?state={state}&from={from}&size={size}";
+    private static final String CURSOR_QUERY = "&cursor={cursor}";
+    private static final String ITEMS_PREFIX = "/items";
+
+    private final GatewayResponseCache responseCache;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory upstreamRequestFactory,
+                         GatewayResponseCache responseCache, UpstreamGuards upstreamGuards,
+                         ObjectMapper objectMapper, UpstreamCodec upstreamCodec) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> upstreamRequestFactory)
+                        .build(),
+                upstreamGuards.forClient("bookings"),
+                upstreamCodec
         );
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
     }
 
     public ResponseEntity<Object> createBooking(Long userId, NewBookingRequestDto newBookingDto) {
-        return post("", userId, newBookingDto);
+        ResponseEntity<Object> response = post("", userId, newBookingDto);
+        responseCache.evict(ITEMS_PREFIX + "/" + newBookingDto.getItemId());
+        return response;
     }
 
-    public ResponseEntity<Object> getBookingsByOwnerId(Long ownerId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("/owner", ownerId, parameters);
+    public void streamBookingsByOwnerId(Long ownerId, BookingState state, Integer from, Integer size,
+                                        @Nullable String cursor, HttpServletResponse response) {
+        stream("/owner" + pageQuery(cursor), ownerId, pageParameters(state, from, size, cursor), response);
     }
 
-    public ResponseEntity<Object> getBookingsByBookerId(Long bookerId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
-        return get("?state={state}&from={from}&size={size}", bookerId, parameters);
+    public void streamBookingsByBookerId(Long bookerId, BookingState state, Integer from, Integer size,
+                                         @Nullable String cursor, HttpServletResponse response) {
+        stream(pageQuery(cursor), bookerId, pageParameters(state, from, size, cursor), response);
     }
 
     public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
@@ -47,6 +75,40 @@ public class BookingClient extends BaseClient {
     }
 
     public ResponseEntity<Object> updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
-        return patch(("/" + bookingId + "?approved=" + approved), userId, null);
+        ResponseEntity<Object> response = patch(("/" + bookingId + "?approved=" + approved), userId, null);
+        Long itemId = itemIdOf(response);
+        if (itemId != null) {
+            responseCache.evict(ITEMS_PREFIX + "/" + itemId);
+        }
+        return response;
+    }
+
+    // без cursor сервер отдаёт страницу по смещению from, поэтому параметр передаётся, только если он есть
+    private static String pageQuery(@Nullable String cursor) {
+        return cursor != null ? PAGE_QUERY + CURSOR_QUERY : PAGE_QUERY;
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size,
+                                                      @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("state", state.name(), "from", from, "size", size));
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
+
+    // владелец видит в карточке вещи lastBooking и nextBooking, поэтому её закэшированная версия устарела
+    @Nullable
+    private Long itemIdOf(ResponseEntity<Object> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof byte[] body)) {
+            return null;
+        }
+        try {
+            JsonNode itemId = objectMapper.readTree(body).path("item").path("id");
+            return itemId.canConvertToLong() ? itemId.asLong() : null;
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать id вещи из ответа на изменение бронирования: {}", e.getMessage());
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
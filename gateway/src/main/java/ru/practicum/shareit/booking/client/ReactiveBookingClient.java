@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.NewBookingRequestDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/bookings";
+    private static final String PAGE_QUERY = "?state={state}&from={from}&size={size}";
+    private static final String CURSOR_QUERY = "&cursor={cursor}";
+
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector upstreamClientConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(upstreamClientConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createBooking(Long userId, NewBookingRequestDto newBookingDto) {
+        return post("", userId, newBookingDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingsByOwnerId(Long ownerId, BookingState state,
+                                                                       Integer from, Integer size,
+                                                                       @Nullable String cursor) {
+        return get("/owner" + pageQuery(cursor), ownerId, pageParameters(state, from, size, cursor));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingsByBookerId(Long bookerId, BookingState state,
+                                                                        Integer from, Integer size,
+                                                                        @Nullable String cursor) {
+        return get(pageQuery(cursor), bookerId, pageParameters(state, from, size, cursor));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingById(Long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateBookingStatus(Long userId, Long bookingId,
+                                                                      Boolean approved) {
+        return patch(("/" + bookingId + "?approved=" + approved), userId, null);
+    }
+
+    // без cursor сервер отдаёт страницу по смещению from, поэтому параметр передаётся, только если он есть
+    private static String pageQuery(@Nullable String cursor) {
+        return cursor != null ? PAGE_QUERY + CURSOR_QUERY : PAGE_QUERY;
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size,
+                                                      @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("state", state.name(), "from", from, "size", size));
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,25 +27,32 @@ import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingController {
 
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByBookerId(
+    public void getBookingsByBookerId(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "10") Integer size) {
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Неверный state: " + stateParam));
-        return bookingClient.getBookingsByBookerId(userId, state, from, size);
+        bookingClient.streamBookingsByBookerId(userId, state, from, size, cursor, response);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwnerId(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
-                                                       @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingClient.getBookingsByOwnerId(userId, state);
+    public void getBookingsByOwnerId(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                     @RequestParam(defaultValue = "ALL") BookingState state,
+                                     @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                     @Positive @RequestParam(defaultValue = "10") Integer size,
+                                     @RequestParam(required = false) String cursor,
+                                     HttpServletResponse response) {
+        bookingClient.streamBookingsByOwnerId(userId, state, from, size, cursor, response);
     }
 
     @GetMapping("/{bookingId}")
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.controller;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.client.ReactiveBookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.NewBookingRequestDto;
+
+import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingController {
+
+    private final ReactiveBookingClient bookingClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingsByBookerId(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Неверный state: " + stateParam));
+        return bookingClient.getBookingsByBookerId(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingsByOwnerId(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.getBookingsByOwnerId(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingById(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                                                 @PathVariable Long bookingId) {
+        return bookingClient.getBookingById(userId, bookingId);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createBooking(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @Valid @RequestBody NewBookingRequestDto newBookingDto) {
+        return bookingClient.createBooking(userId, newBookingDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateBookingStatus(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @PathVariable Long bookingId,
+            @RequestParam Boolean approved) {
+        return bookingClient.updateBookingStatus(userId, bookingId, approved);
+    }
+}
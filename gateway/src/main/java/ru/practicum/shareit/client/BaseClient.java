@@ -1,23 +1,54 @@
 package ru.practicum.shareit.client;
 
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.constant.Headers;
+import ru.practicum.shareit.exception.GatewayTimeoutException;
+import ru.practicum.shareit.metrics.RouteTimings;
+import ru.practicum.shareit.resilience.UpstreamGuard;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.Tracer;
 
 public class BaseClient {
 
     protected final RestTemplate rest;
 
-    public BaseClient(RestTemplate rest) {
+    private final UpstreamGuard guard;
+    private final UpstreamCodec codec;
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlightGets =
+            new ConcurrentHashMap<>();
+
+    public BaseClient(RestTemplate rest, UpstreamGuard guard) {
+        this(rest, guard, UpstreamCodec.json());
+    }
+
+    public BaseClient(RestTemplate rest, UpstreamGuard guard, UpstreamCodec codec) {
         this.rest = rest;
+        this.guard = guard;
+        this.codec = codec;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -83,46 +114,188 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    // список уходит клиенту по мере чтения, в памяти только буфер ResponseStreamer; без объединения, хеджей
+    // и повторов: после первого отправленного байта запрос уже не переиграть
+    protected void stream(String path, Long userId, @Nullable Map<String, Object> parameters,
+                          HttpServletResponse response) {
+        RouteTimings timings = RouteTimings.current();
+        long startNanos = System.nanoTime();
+        try {
+            long deadlineNanos = guard.newDeadlineNanos();
+            guard.executeStreaming(() -> streamFromServer(path, userId, parameters, deadlineNanos, response));
+        } finally {
+            if (timings != null) {
+                timings.addUpstream(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters,
                                                           @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        RouteTimings timings = RouteTimings.current();
+        Span span = Tracer.currentSpan();
+        long startNanos = System.nanoTime();
+        try {
+            if (method == HttpMethod.GET) {
+                String ifNoneMatch = currentIfNoneMatch();
+                return coalesce(path, userId, parameters, ifNoneMatch,
+                        () -> exchange(HttpMethod.GET, path, userId, parameters, null, ifNoneMatch, timings, span));
+            }
+            return exchange(method, path, userId, parameters, body, null, timings, span);
+        } finally {
+            if (timings != null) {
+                timings.addUpstream(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    // условный GET клиента уходит на сервер как есть, его 304 возвращается без тела
+    @Nullable
+    private static String currentIfNoneMatch() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        }
+        return null;
+    }
+
+    // ответ ждущим отдаётся только пока выполняется первый запрос, после него нигде не хранится
+    private ResponseEntity<Object> coalesce(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                            @Nullable String ifNoneMatch, Supplier<ResponseEntity<Object>> request) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        String key = uri + "#" + userId + "#" + ifNoneMatch;
+
+        CompletableFuture<ResponseEntity<Object>> own = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> inFlight = inFlightGets.putIfAbsent(key, own);
+        if (inFlight != null) {
+            return awaitInFlight(inFlight);
+        }
 
-        ResponseEntity<Object> shareitServerResponse;
+        try {
+            ResponseEntity<Object> response = request.get();
+            own.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightGets.remove(key, own);
+        }
+    }
+
+    private static ResponseEntity<Object> awaitInFlight(CompletableFuture<ResponseEntity<Object>> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, Long userId,
+                                                @Nullable Map<String, Object> parameters,
+                                                @Nullable T body, @Nullable String ifNoneMatch,
+                                                @Nullable RouteTimings timings, @Nullable Span span) {
+        long deadlineNanos = guard.newDeadlineNanos();
+        Supplier<ResponseEntity<Object>> call = () -> RouteTimings.callBound(timings, () -> Tracer.callInSpan(span,
+                () -> sendToServer(method, path, userId, parameters, body, ifNoneMatch, deadlineNanos)));
+        if (method == HttpMethod.GET) {
+            return guard.executeIdempotent(deadlineNanos, call);
+        }
+        return guard.execute(call);
+    }
+
+    private <T> ResponseEntity<Object> sendToServer(HttpMethod method, String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters,
+                                                    @Nullable T body, @Nullable String ifNoneMatch,
+                                                    long deadlineNanos) {
+        HttpHeaders headers = upstreamHeaders(userId, ifNoneMatch, deadlineNanos);
+        HttpEntity<Object> requestEntity = new HttpEntity<>(codec.encode(body), headers);
+
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
 
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private ResponseEntity<Object> streamFromServer(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                    long deadlineNanos, HttpServletResponse response) {
+        HttpHeaders headers = upstreamHeaders(userId, currentIfNoneMatch(), deadlineNanos);
+        RequestCallback requestCallback = request -> request.getHeaders().putAll(headers);
+        ResponseExtractor<ResponseEntity<Object>> responseExtractor = upstream -> {
+            ResponseStreamer.copy(upstream.getStatusCode(), upstream.getHeaders(), upstream.getBody(), response);
+            return ResponseEntity.status(upstream.getStatusCode()).build();
+        };
+
+        try {
+            if (parameters != null) {
+                return rest.execute(path, HttpMethod.GET, requestCallback, responseExtractor, parameters);
+            }
+            return rest.execute(path, HttpMethod.GET, requestCallback, responseExtractor);
+        } catch (HttpStatusCodeException e) {
+            try {
+                ResponseStreamer.copy(e.getStatusCode(), e.getResponseHeaders(),
+                        new ByteArrayInputStream(e.getResponseBodyAsByteArray()), response);
+            } catch (IOException ignored) {
+                // тело ошибки небольшое и уже прочитано, обрыв возможен только на стороне клиента
+            }
+            return ResponseEntity.status(e.getStatusCode()).build();
+        }
+    }
+
+    private HttpHeaders upstreamHeaders(Long userId, @Nullable String ifNoneMatch, long deadlineNanos) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remainingMillis <= 0) {
+            throw new GatewayTimeoutException("Срок запроса к shareit-server истёк до отправки");
+        }
+        HttpHeaders headers = defaultHeaders(userId, ifNoneMatch);
+        headers.set(Headers.REQUEST_TIMEOUT_HEADER_NAME, String.valueOf(remainingMillis));
+        return headers;
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, @Nullable String ifNoneMatch) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(codec.contentType());
+        headers.setAccept(codec.accept());
 
         if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+            headers.set(Headers.USER_ID_HEADER_NAME, String.valueOf(userId));
+        }
+
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
         }
 
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status,
+                                                                 @Nullable HttpHeaders upstreamHeaders,
+                                                                 @Nullable byte[] body) {
+        HttpHeaders headers = UpstreamHeaders.passthrough(upstreamHeaders);
+        if (UpstreamCodec.isSmile(headers.getContentType())) {
+            if (body != null) {
+                body = UpstreamCodec.toJson(headers.getContentType(), body);
+            }
+            headers.setContentType(MediaType.APPLICATION_JSON);
         }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(headers);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
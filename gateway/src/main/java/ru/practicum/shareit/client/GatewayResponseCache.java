@@ -0,0 +1,190 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+@Slf4j
+public class GatewayResponseCache implements AutoCloseable {
+
+    private static final String CACHE_NAME = "gateway-responses";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long staleWhileRevalidateNanos;
+    private final Cache<Key, Entry> cache;
+    // ключи и поколение пути меняются только внутри paths.compute, поэтому вытеснение не теряет чужие загрузки
+    private final ConcurrentMap<String, PathState> paths = new ConcurrentHashMap<>();
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter staleServed;
+
+    public GatewayResponseCache(MeterRegistry meterRegistry, boolean enabled, long maxSize, Duration ttl,
+                                Duration staleWhileRevalidate) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.staleWhileRevalidateNanos = staleWhileRevalidate.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl.plus(staleWhileRevalidate))
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.staleServed = Counter.builder("shareit.gateway.cache.stale")
+                .description("Ответы, отданные из кэша после истечения ttl на время фонового обновления")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<Object> get(String path, Long userId, Supplier<ResponseEntity<Object>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(path, userId);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            long age = System.nanoTime() - entry.storedAtNanos();
+            if (age <= ttlNanos) {
+                return entry.toResponse();
+            }
+            if (age <= ttlNanos + staleWhileRevalidateNanos) {
+                staleServed.increment();
+                refreshInBackground(key, loader);
+                return entry.toResponse();
+            }
+        }
+
+        return load(key, loader);
+    }
+
+    public void evict(String path) {
+        paths.computeIfPresent(path, (p, state) -> {
+            state.generation++;
+            state.keys.forEach(cache::invalidate);
+            state.keys.clear();
+            return state.isUnused() ? null : state;
+        });
+    }
+
+    public void evictAll() {
+        paths.keySet().forEach(this::evict);
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private ResponseEntity<Object> load(Key key, Supplier<ResponseEntity<Object>> loader) {
+        long loadGeneration = startLoad(key.path());
+        ResponseEntity<Object> response = null;
+        try {
+            response = loader.get();
+            return response;
+        } finally {
+            finishLoad(key, loadGeneration, response);
+        }
+    }
+
+    private long startLoad(String path) {
+        long[] generation = new long[1];
+        paths.compute(path, (p, state) -> {
+            PathState current = state != null ? state : new PathState();
+            current.loading++;
+            generation[0] = current.generation;
+            return current;
+        });
+        return generation[0];
+    }
+
+    private void finishLoad(Key key, long loadGeneration, @Nullable ResponseEntity<Object> response) {
+        paths.compute(key.path(), (p, state) -> {
+            state.loading--;
+            if (response == null) {
+                return state.isUnused() ? null : state;
+            }
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.OK) && response.getBody() instanceof byte[] body) {
+                if (state.generation == loadGeneration) {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.putAll(response.getHeaders());
+                    cache.put(key, new Entry(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers),
+                            body, System.nanoTime()));
+                    state.keys.add(key);
+                }
+            } else if (response.getStatusCode().is4xxClientError()) {
+                cache.invalidate(key);
+                state.keys.remove(key);
+            }
+            return state.isUnused() ? null : state;
+        });
+    }
+
+    private void onRemoval(@Nullable Key key, @Nullable Entry entry, RemovalCause cause) {
+        if (key == null || !cause.wasEvicted()) {
+            return;
+        }
+        paths.computeIfPresent(key.path(), (p, state) -> {
+            if (cache.getIfPresent(key) == null) {
+                state.keys.remove(key);
+            }
+            return state.isUnused() ? null : state;
+        });
+    }
+
+    private void refreshInBackground(Key key, Supplier<ResponseEntity<Object>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                load(key, loader);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось обновить кэшированный ответ для {}: {}", key.path(), e.getMessage());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private record Key(String path, Long userId) {
+    }
+
+    private static final class PathState {
+
+        private final Set<Key> keys = new HashSet<>();
+        private long generation;
+        private int loading;
+
+        private boolean isUnused() {
+            return keys.isEmpty() && loading == 0;
+        }
+    }
+
+    private record Entry(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAtNanos) {
+
+        ResponseEntity<Object> toResponse() {
+            return new ResponseEntity<>(body, headers, status);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+import ru.practicum.shareit.metrics.RouteTimings;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// дополнительно замеряет время ожидания свободного соединения
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer leaseTimer;
+    private final Timer leaseTimeoutTimer;
+
+    public InstrumentedConnectionManager(MeterRegistry meterRegistry) {
+        this.leaseTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Время ожидания соединения из пула к shareit-server")
+                .tag("httpclient", "shareit-server")
+                .tag("outcome", "leased")
+                .register(meterRegistry);
+        this.leaseTimeoutTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Время ожидания соединения из пула к shareit-server")
+                .tag("httpclient", "shareit-server")
+                .tag("outcome", "timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long startNanos = System.nanoTime();
+                try {
+                    ConnectionEndpoint endpoint = leaseRequest.get(timeout);
+                    long leaseNanos = System.nanoTime() - startNanos;
+                    leaseTimer.record(leaseNanos, TimeUnit.NANOSECONDS);
+                    RouteTimings.recordLease(leaseNanos);
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    long leaseNanos = System.nanoTime() - startNanos;
+                    leaseTimeoutTimer.record(leaseNanos, TimeUnit.NANOSECONDS);
+                    RouteTimings.recordLease(leaseNanos);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+}
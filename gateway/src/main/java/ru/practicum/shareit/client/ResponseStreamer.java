@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// копирует ответ shareit-server клиенту через буфер фиксированного размера; без Content-Length Tomcat
+// отдаёт тело чанками, и первые байты уходят клиенту, пока сервер ещё дописывает список
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ResponseStreamer {
+
+    static final int BUFFER_SIZE = 8 * 1024;
+
+    // обрыв со стороны клиента не пробрасывается: это не ошибка shareit-server, и автомат её учитывать не должен
+    static void copy(HttpStatusCode status, HttpHeaders upstreamHeaders, InputStream body,
+                     HttpServletResponse response) throws IOException {
+        HttpHeaders headers = UpstreamHeaders.passthrough(upstreamHeaders);
+        boolean smile = UpstreamCodec.isSmile(headers.getContentType());
+        if (smile) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        response.setStatus(status.value());
+        response.setBufferSize(BUFFER_SIZE);
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+
+        ClientOutputStream client = new ClientOutputStream(response.getOutputStream());
+        try {
+            if (smile) {
+                UpstreamCodec.transcode(body, client);
+            } else {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                    client.write(buffer, 0, read);
+                }
+            }
+            client.flush();
+        } catch (IOException e) {
+            if (!client.failed) {
+                throw e;
+            }
+        }
+    }
+
+    // отличает обрыв со стороны клиента от обрыва со стороны shareit-server
+    private static final class ClientOutputStream extends FilterOutputStream {
+
+        private boolean failed;
+
+        private ClientOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                out.write(b);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.constant.Headers;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// запоминает id из X-Sharer-User-Id, на которые сервер ответил 404 с X-Unknown-User-Id того же пользователя,
+// и дальше отвечает 404 сам; хранится только id, а тело ошибки строится для текущего запроса. Точный набор,
+// а не фильтр Блума: ложное срабатывание отрезало бы настоящего пользователя
+public class UnknownUserInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String CACHE_NAME = "unknown-users";
+    private static final String USERS_PATH = "/users";
+
+    private final Cache<Long, Boolean> unknownUsers;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public UnknownUserInterceptor(MeterRegistry meterRegistry, ObjectMapper objectMapper, long maxSize,
+                                  Duration ttl) {
+        this.unknownUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.objectMapper = objectMapper;
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownUsers, CACHE_NAME);
+        this.rejected = Counter.builder("shareit.gateway.unknown-users.rejected")
+                .description("Запросы с несуществующим X-Sharer-User-Id, отклонённые без обращения к shareit-server")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        Long userId = userId(request);
+        if (userId != null && unknownUsers.getIfPresent(userId) != null) {
+            rejected.increment();
+            return userNotFound(request, userId);
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (userId != null && isUserNotFound(response, userId)) {
+            unknownUsers.put(userId, Boolean.TRUE);
+            return response;
+        }
+        if (isUserCreated(request, response)) {
+            BufferedResponse buffered = BufferedResponse.of(response);
+            forgetCreatedUser(buffered);
+            return buffered;
+        }
+        return response;
+    }
+
+    @Nullable
+    private static Long userId(HttpRequest request) {
+        String header = request.getHeaders().getFirst(Headers.USER_ID_HEADER_NAME);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // то же, что ответил бы ErrorHandler сервера на UserNotFoundException, но с путём и временем этого запроса
+    private BufferedResponse userNotFound(HttpRequest request, long userId) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                "Ресурс не найден",
+                "Пользователь с id=" + userId + " не найден",
+                request.getURI().getPath(),
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value()
+        );
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(Headers.UNKNOWN_USER_ID_HEADER_NAME, String.valueOf(userId));
+        return new BufferedResponse(HttpStatus.NOT_FOUND, headers, objectMapper.writeValueAsBytes(error));
+    }
+
+    // 404 на GET /users/{id} тоже несёт заголовок, но с id из пути, поэтому сверяется именно X-Sharer-User-Id
+    private static boolean isUserNotFound(ClientHttpResponse response, long userId) throws IOException {
+        return response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+                && String.valueOf(userId).equals(response.getHeaders().getFirst(Headers.UNKNOWN_USER_ID_HEADER_NAME));
+    }
+
+    private static boolean isUserCreated(HttpRequest request, ClientHttpResponse response) throws IOException {
+        return request.getMethod() == HttpMethod.POST
+                && USERS_PATH.equals(request.getURI().getPath())
+                && response.getStatusCode().is2xxSuccessful();
+    }
+
+    // id выдаёт сервер, поэтому созданный пользователь мог раньше попасть сюда как несуществующий
+    private void forgetCreatedUser(BufferedResponse response) {
+        try {
+            JsonNode id = readTree(response).path("id");
+            if (id.canConvertToLong()) {
+                unknownUsers.invalidate(id.asLong());
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // тело не разобрать — сбрасываем всё ниже
+        }
+        unknownUsers.invalidateAll();
+    }
+
+    // сервер отвечает в формате из Accept, это может быть и Smile
+    private JsonNode readTree(BufferedResponse response) throws IOException {
+        return objectMapper.readTree(UpstreamCodec.toJson(response.headers.getContentType(), response.body));
+    }
+
+    private static final class BufferedResponse implements ClientHttpResponse {
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        private static BufferedResponse of(ClientHttpResponse response) throws IOException {
+            try (response) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.putAll(response.getHeaders());
+                return new BufferedResponse(response.getStatusCode(), headers, response.getBody().readAllBytes());
+            }
+        }
+
+        @Override
+        @NonNull
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        @NonNull
+        public String getStatusText() {
+            return status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        @NonNull
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+// формат тел на участке gateway ↔ shareit-server; клиенты gateway всегда получают JSON: Smile-ответ
+// перекодируется потоково, без дерева и без знания типа DTO, поэтому даты и имена полей не меняются
+public final class UpstreamCodec {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    // JSON остаётся в Accept для экземпляра сервера без Smile, например во время поэтапного обновления
+    private static final MediaType JSON_FALLBACK = new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.5"));
+
+    @Nullable
+    private final ObjectMapper smileMapper;
+
+    private UpstreamCodec(@Nullable ObjectMapper smileMapper) {
+        this.smileMapper = smileMapper;
+    }
+
+    public static UpstreamCodec json() {
+        return new UpstreamCodec(null);
+    }
+
+    public static UpstreamCodec smile(ObjectMapper smileMapper) {
+        return new UpstreamCodec(smileMapper);
+    }
+
+    public MediaType contentType() {
+        return smileMapper != null ? APPLICATION_SMILE : MediaType.APPLICATION_JSON;
+    }
+
+    public List<MediaType> accept() {
+        return smileMapper != null ? List.of(APPLICATION_SMILE, JSON_FALLBACK) : List.of(MediaType.APPLICATION_JSON);
+    }
+
+    @Nullable
+    public Object encode(@Nullable Object body) {
+        if (body == null || smileMapper == null) {
+            return body;
+        }
+        try {
+            return smileMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать тело запроса в Smile", e);
+        }
+    }
+
+    public static boolean isSmile(@Nullable MediaType contentType) {
+        return contentType != null && APPLICATION_SMILE.isCompatibleWith(contentType);
+    }
+
+    public static byte[] toJson(@Nullable MediaType contentType, byte[] body) {
+        if (!isSmile(contentType) || body.length == 0) {
+            return body;
+        }
+        ByteArrayOutputStream json = new ByteArrayOutputStream(body.length * 2);
+        try {
+            transcode(new ByteArrayInputStream(body), json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось перекодировать ответ shareit-server из Smile в JSON", e);
+        }
+        return json.toByteArray();
+    }
+
+    // память ограничена буферами парсера и генератора, а не размером тела
+    public static void transcode(InputStream smile, OutputStream json) throws IOException {
+        try (JsonParser parser = SMILE_FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+}
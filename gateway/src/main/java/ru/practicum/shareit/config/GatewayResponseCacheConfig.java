@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.client.GatewayResponseCache;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class GatewayResponseCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public GatewayResponseCache gatewayResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.cache.enabled:true}") boolean enabled,
+            @Value("${shareit-server.cache.max-size:10000}") long maxSize,
+            @Value("${shareit-server.cache.ttl:30s}") Duration ttl,
+            @Value("${shareit-server.cache.stale-while-revalidate:0s}") Duration staleWhileRevalidate) {
+        return new GatewayResponseCache(meterRegistry, enabled, maxSize, ttl, staleWhileRevalidate);
+    }
+}
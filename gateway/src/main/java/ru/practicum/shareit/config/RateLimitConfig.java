@@ -0,0 +1,61 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.ratelimit.BucketLimits;
+import ru.practicum.shareit.ratelimit.RateLimitInterceptor;
+import ru.practicum.shareit.ratelimit.RouteClass;
+import ru.practicum.shareit.ratelimit.UserRateLimiter;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit-server.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public UserRateLimiter userRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.rate-limit.search.capacity:20}") int searchCapacity,
+            @Value("${shareit-server.rate-limit.search.refill-per-second:5}") double searchRefill,
+            @Value("${shareit-server.rate-limit.read.capacity:100}") int readCapacity,
+            @Value("${shareit-server.rate-limit.read.refill-per-second:50}") double readRefill,
+            @Value("${shareit-server.rate-limit.write.capacity:30}") int writeCapacity,
+            @Value("${shareit-server.rate-limit.write.refill-per-second:10}") double writeRefill,
+            @Value("${shareit-server.rate-limit.max-buckets:100000}") long maxBuckets,
+            @Value("${shareit-server.rate-limit.idle-expiry:10m}") Duration idleExpiry) {
+        UserRateLimiter rateLimiter = new UserRateLimiter(Map.of(
+                RouteClass.SEARCH, new BucketLimits(searchCapacity, searchRefill),
+                RouteClass.READ, new BucketLimits(readCapacity, readRefill),
+                RouteClass.WRITE, new BucketLimits(writeCapacity, writeRefill)
+        ), maxBuckets, idleExpiry);
+        Gauge.builder("shareit.gateway.ratelimit.buckets", rateLimiter, UserRateLimiter::trackedBuckets)
+                .description("Число отслеживаемых корзин токенов")
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(UserRateLimiter userRateLimiter, MeterRegistry meterRegistry) {
+        return new RateLimitInterceptor(userRateLimiter, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitWebMvcConfigurer(RateLimitInterceptor rateLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(rateLimitInterceptor).excludePathPatterns("/batch");
+            }
+        };
+    }
+}
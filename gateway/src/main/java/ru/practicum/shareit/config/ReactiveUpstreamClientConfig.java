@@ -0,0 +1,72 @@
+package ru.practicum.shareit.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUpstreamClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${shareit-server.http-client.max-total:200}") int maxConnections,
+            @Value("${shareit-server.reactive.max-pending-requests:1000}") int maxPendingRequests,
+            @Value("${shareit-server.http-client.lease-timeout:1s}") Duration leaseTimeout,
+            @Value("${shareit-server.http-client.keep-alive:15s}") Duration keepAlive,
+            @Value("${shareit-server.http-client.idle-eviction:10s}") Duration idleEviction,
+            @Value("${shareit-server.http2.enabled:false}") boolean http2Enabled,
+            @Value("${shareit-server.http2.max-connections:2}") int http2MaxConnections,
+            @Value("${shareit-server.http2.max-concurrent-streams:100}") long http2MaxConcurrentStreams) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingRequests)
+                .pendingAcquireTimeout(leaseTimeout)
+                .maxIdleTime(keepAlive)
+                .evictInBackground(idleEviction)
+                .metrics(true);
+
+        // в режиме h2c пул ограничивает не соединения, а потоки в каждом из них
+        if (http2Enabled) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .minConnections(1)
+                    .maxConnections(http2MaxConnections)
+                    .maxConcurrentStreams(http2MaxConcurrentStreams)
+                    .build());
+        }
+
+        return builder.build();
+    }
+
+    @Bean
+    public ClientHttpConnector upstreamClientConnector(
+            ConnectionProvider upstreamConnectionProvider,
+            @Value("${shareit-server.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http-client.read-timeout:10s}") Duration readTimeout,
+            @Value("${shareit-server.http2.enabled:false}") boolean http2Enabled,
+            @Value("${shareit-server.http2.initial-window-size:65535}") int http2InitialWindowSize) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(true);
+
+        // сервер настроен на h2c заранее, поэтому соединение открывается сразу преамбулой HTTP/2, без Upgrade
+        if (http2Enabled) {
+            httpClient = httpClient
+                    .protocol(HttpProtocol.H2C)
+                    .http2Settings(settings -> settings.initialWindowSize(http2InitialWindowSize));
+        }
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.tracing.GatewayTracingFilter;
+import ru.practicum.shareit.tracing.SpanRecorder;
+import ru.practicum.shareit.tracing.SpansEndpoint;
+import ru.practicum.shareit.tracing.Tracer;
+import ru.practicum.shareit.tracing.TracingFilter;
+import ru.practicum.shareit.tracing.TracingInterceptor;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit-server.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public SpanRecorder spanRecorder(@Value("${shareit-server.tracing.buffer-size:10000}") int bufferSize) {
+        return new SpanRecorder(bufferSize);
+    }
+
+    @Bean
+    public Tracer tracer(SpanRecorder spanRecorder,
+                         @Value("${shareit-server.tracing.sample-rate:1.0}") double sampleRate) {
+        return new Tracer(spanRecorder, "shareit-gateway", sampleRate);
+    }
+
+    // снаружи метрик маршрутов, чтобы корневой спан покрывал всё время обработки запроса
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new GatewayTracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // в конце цепочки: запросы, отклонённые до отправки (неизвестный пользователь), клиентских спанов не создают
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public RestTemplateCustomizer tracingCustomizer(Tracer tracer) {
+        TracingInterceptor interceptor = new TracingInterceptor(tracer);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    public SpansEndpoint spansEndpoint(SpanRecorder spanRecorder) {
+        return new SpansEndpoint(spanRecorder);
+    }
+}
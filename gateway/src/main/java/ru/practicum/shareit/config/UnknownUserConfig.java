@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.client.UnknownUserInterceptor;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit-server.unknown-users.enabled", havingValue = "true", matchIfMissing = true)
+public class UnknownUserConfig {
+
+    @Bean
+    public UnknownUserInterceptor unknownUserInterceptor(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${shareit-server.unknown-users.max-size:100000}") long maxSize,
+            @Value("${shareit-server.unknown-users.ttl:5m}") Duration ttl) {
+        return new UnknownUserInterceptor(meterRegistry, objectMapper, maxSize, ttl);
+    }
+
+    // первым в цепочке: отклонённый запрос не занимает слот ограничителя и не выбирает экземпляр сервера
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public RestTemplateCustomizer unknownUserCustomizer(UnknownUserInterceptor unknownUserInterceptor) {
+        return restTemplate -> restTemplate.getInterceptors().add(0, unknownUserInterceptor);
+    }
+}
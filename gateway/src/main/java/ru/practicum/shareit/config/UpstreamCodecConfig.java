@@ -0,0 +1,26 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.client.UpstreamCodec;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UpstreamCodecConfig {
+
+    // Smile выключен по умолчанию: клиенты gateway получают JSON, и перекодирование Smile → JSON в gateway
+    // съедает выигрыш от меньшего тела, пока сквозной замер против сжатого JSON не покажет обратное.
+    // Тот же построитель, что и у JSON-маппера: даты и имена полей в теле запроса не зависят от формата
+    @Bean
+    public UpstreamCodec upstreamCodec(Jackson2ObjectMapperBuilder builder,
+                                       @Value("${shareit-server.smile.enabled:false}") boolean smileEnabled) {
+        if (!smileEnabled) {
+            return UpstreamCodec.json();
+        }
+        return UpstreamCodec.smile(builder.factory(new SmileFactory()).build());
+    }
+}
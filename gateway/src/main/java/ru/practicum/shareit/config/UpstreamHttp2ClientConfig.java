@@ -0,0 +1,39 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+// httpclient5 в блокирующем режиме умеет только HTTP/1.1, поэтому для h2c используется клиент JDK:
+// после Upgrade на первом запросе все запросы к серверу мультиплексируются в одном соединении,
+// а число одновременных потоков ограничивают shareit-server.max-concurrent-requests и настройки сервера
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit-server.http2.enabled", havingValue = "true")
+public class UpstreamHttp2ClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public HttpClient upstreamHttp2Client(
+            @Value("${shareit-server.http-client.connect-timeout:2s}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(
+            HttpClient upstreamHttp2Client,
+            @Value("${shareit-server.http-client.read-timeout:10s}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(upstreamHttp2Client);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+}
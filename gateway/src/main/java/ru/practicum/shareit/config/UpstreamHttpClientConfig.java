@@ -0,0 +1,108 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.client.GzipRequestInterceptor;
+import ru.practicum.shareit.client.InstrumentedConnectionManager;
+import ru.practicum.shareit.client.UpstreamConcurrencyLimiter;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UpstreamHttpClientConfig {
+
+    // пул HttpComponents, его метрики и потоки вытеснения нужны только HTTP/1.1; с http2 запросы идут
+    // через UpstreamHttp2ClientConfig
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit-server.http2.enabled", havingValue = "false", matchIfMissing = true)
+    public InstrumentedConnectionManager upstreamConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.http-client.max-total:200}") int maxTotal,
+            @Value("${shareit-server.http-client.max-per-route:100}") int maxPerRoute,
+            @Value("${shareit-server.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http-client.read-timeout:10s}") Duration readTimeout,
+            @Value("${shareit-server.http-client.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(meterRegistry);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                .build());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server")
+                .bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit-server.http2.enabled", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient upstreamHttpClient(
+            InstrumentedConnectionManager upstreamConnectionManager,
+            @Value("${shareit-server.http-client.lease-timeout:1s}") Duration leaseTimeout,
+            @Value("${shareit-server.http-client.read-timeout:10s}") Duration readTimeout,
+            @Value("${shareit-server.http-client.keep-alive:15s}") Duration keepAlive,
+            @Value("${shareit-server.http-client.idle-eviction:10s}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(leaseTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public UpstreamConcurrencyLimiter upstreamConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.max-concurrent-requests:200}") int maxConcurrentRequests,
+            @Value("${shareit-server.concurrency-acquire-timeout:5s}") Duration acquireTimeout) {
+        UpstreamConcurrencyLimiter limiter = new UpstreamConcurrencyLimiter(maxConcurrentRequests, acquireTimeout);
+        Gauge.builder("shareit.gateway.upstream.permits.available", limiter,
+                        UpstreamConcurrencyLimiter::availablePermits)
+                .description("Свободные слоты для одновременных запросов к shareit-server")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public RestTemplateCustomizer upstreamConcurrencyLimitCustomizer(UpstreamConcurrencyLimiter limiter) {
+        return restTemplate -> restTemplate.getInterceptors().add(limiter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.compression.enabled", havingValue = "true", matchIfMissing = true)
+    public RestTemplateCustomizer upstreamRequestCompressionCustomizer(
+            @Value("${shareit-server.compression.request-min-size:1KB}") DataSize minSize) {
+        GzipRequestInterceptor interceptor = new GzipRequestInterceptor(minSize.toBytes());
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http2.enabled", havingValue = "false", matchIfMissing = true)
+    public ClientHttpRequestFactory upstreamRequestFactory(CloseableHttpClient upstreamHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.balancer.HealthChecker;
+import ru.practicum.shareit.balancer.LoadBalancer;
+import ru.practicum.shareit.balancer.LoadBalancingInterceptor;
+import ru.practicum.shareit.balancer.ServerEndpoint;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+// экземпляры перечисляются в shareit-server.load-balancing.endpoints через запятую
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit-server.load-balancing.enabled", havingValue = "true")
+public class UpstreamLoadBalancingConfig {
+
+    @Bean
+    public LoadBalancer upstreamLoadBalancer(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.load-balancing.endpoints}") List<String> endpoints,
+            @Value("${shareit-server.load-balancing.strategy:least-outstanding}") String strategy,
+            @Value("${shareit-server.load-balancing.consecutive-failures:5}") int consecutiveFailures,
+            @Value("${shareit-server.load-balancing.ejection-time:30s}") Duration ejectionTime,
+            @Value("${shareit-server.load-balancing.max-ejection-time:5m}") Duration maxEjectionTime,
+            @Value("${shareit-server.load-balancing.max-ejection-percent:50}") int maxEjectionPercent) {
+        List<ServerEndpoint> serverEndpoints = endpoints.stream()
+                .map(String::trim)
+                .filter(endpoint -> !endpoint.isEmpty())
+                .map(endpoint -> new ServerEndpoint(URI.create(endpoint)))
+                .toList();
+        LoadBalancer loadBalancer = new LoadBalancer(serverEndpoints, LoadBalancer.Strategy.of(strategy),
+                consecutiveFailures, ejectionTime.toNanos(), maxEjectionTime.toNanos(), maxEjectionPercent);
+
+        for (ServerEndpoint endpoint : loadBalancer.getEndpoints()) {
+            Gauge.builder("shareit.gateway.upstream.endpoint.outstanding", endpoint, ServerEndpoint::getOutstanding)
+                    .description("Незавершённые запросы к экземпляру shareit-server")
+                    .tag("endpoint", endpoint.toString())
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.upstream.endpoint.available", endpoint,
+                            available -> available.isAvailable() ? 1 : 0)
+                    .description("Экземпляр участвует в балансировке: 1 — да, 0 — нет")
+                    .tag("endpoint", endpoint.toString())
+                    .register(meterRegistry);
+        }
+        return loadBalancer;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit-server.load-balancing.health-check.enabled", havingValue = "true",
+            matchIfMissing = true)
+    public HealthChecker upstreamHealthChecker(
+            LoadBalancer upstreamLoadBalancer,
+            @Value("${shareit-server.load-balancing.health-check.path:/actuator/health}") String path,
+            @Value("${shareit-server.load-balancing.health-check.interval:5s}") Duration interval,
+            @Value("${shareit-server.load-balancing.health-check.timeout:1s}") Duration timeout,
+            @Value("${shareit-server.load-balancing.health-check.healthy-threshold:2}") int healthyThreshold,
+            @Value("${shareit-server.load-balancing.health-check.unhealthy-threshold:2}") int unhealthyThreshold) {
+        return new HealthChecker(upstreamLoadBalancer, path, interval, timeout, healthyThreshold, unhealthyThreshold);
+    }
+
+    @Bean
+    public RestTemplateCustomizer upstreamLoadBalancingCustomizer(LoadBalancer upstreamLoadBalancer) {
+        LoadBalancingInterceptor interceptor = new LoadBalancingInterceptor(upstreamLoadBalancer);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+}
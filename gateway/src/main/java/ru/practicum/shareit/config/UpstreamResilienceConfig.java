@@ -0,0 +1,18 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import ru.practicum.shareit.resilience.UpstreamGuards;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UpstreamResilienceConfig {
+
+    @Bean
+    public UpstreamGuards upstreamGuards(MeterRegistry meterRegistry, Environment environment) {
+        return new UpstreamGuards(meterRegistry, environment);
+    }
+}
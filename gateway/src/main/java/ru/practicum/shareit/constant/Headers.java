@@ -7,4 +7,10 @@ import lombok.NoArgsConstructor;
 public final class Headers {
 
     public static final String USER_ID_HEADER_NAME = "X-Sharer-User-Id";
+
+    // сколько миллисекунд осталось до истечения срока запроса на стороне gateway
+    public static final String REQUEST_TIMEOUT_HEADER_NAME = "X-Request-Timeout";
+
+    // id пользователя, которого нет: shareit-server ставит его только на 404, вызванный отсутствием пользователя
+    public static final String UNKNOWN_USER_ID_HEADER_NAME = "X-Unknown-User-Id";
 }
\ No newline at end of file
@@ -3,18 +3,29 @@ package ru.practicum.shareit.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ErrorHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -65,6 +76,137 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleHttpMessageNotReadableException(final HttpMessageNotReadableException exception,
+                                                               final HttpServletRequest request) {
+        log.warn("Тело запроса не разобрано: {}", exception.getMessage());
+        return new ErrorResponse(
+                "Ошибка валидации тела запроса",
+                "Тело запроса отсутствует или не является корректным JSON",
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMissingServletRequestParameterException(
+            final MissingServletRequestParameterException exception, final HttpServletRequest request) {
+        log.warn("Не передан обязательный параметр: {}", exception.getParameterName());
+        return new ErrorResponse(
+                "Неверный параметр запроса",
+                "Не передан обязательный параметр: " + exception.getParameterName(),
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentTypeMismatchException(final MethodArgumentTypeMismatchException exception,
+                                                                   final HttpServletRequest request) {
+        log.warn("Неверное значение параметра {}: {}", exception.getName(), exception.getValue());
+        return new ErrorResponse(
+                "Неверный параметр запроса",
+                "Неверное значение параметра " + exception.getName() + ": " + exception.getValue(),
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+    }
+
+    @ExceptionHandler({NoHandlerFoundException.class, NoResourceFoundException.class})
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponse handleNoHandlerFoundException(final Exception exception, final HttpServletRequest request) {
+        log.warn("Маршрут не найден: {} {}", request.getMethod(), request.getRequestURI());
+        return new ErrorResponse(
+                "Ресурс не найден",
+                "Маршрут " + request.getMethod() + " " + request.getRequestURI() + " не найден",
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value()
+        );
+    }
+
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleHttpRequestMethodNotSupportedException(
+            final HttpRequestMethodNotSupportedException exception, final HttpServletRequest request) {
+        log.warn("Метод {} не поддерживается для {}", exception.getMethod(), request.getRequestURI());
+        HttpHeaders headers = new HttpHeaders();
+        if (exception.getSupportedHttpMethods() != null) {
+            headers.setAllow(exception.getSupportedHttpMethods());
+        }
+        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED)
+                .headers(headers)
+                .body(new ErrorResponse(
+                        "Метод не поддерживается",
+                        "Метод " + exception.getMethod() + " не поддерживается для " + request.getRequestURI(),
+                        request.getRequestURI(),
+                        LocalDateTime.now(),
+                        HttpStatus.METHOD_NOT_ALLOWED.value()
+                ));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(final TooManyRequestsException exception,
+                                                                        final HttpServletRequest request) {
+        log.warn("Запрос отклонён ограничением частоты: {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorResponse(
+                        "Слишком много запросов",
+                        exception.getMessage(),
+                        request.getRequestURI(),
+                        LocalDateTime.now(),
+                        HttpStatus.TOO_MANY_REQUESTS.value()
+                ));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServiceUnavailableException(final ServiceUnavailableException exception,
+                                                           final HttpServletRequest request) {
+        log.warn("Сервис временно недоступен: {}", exception.getMessage());
+        return new ErrorResponse(
+                "Сервис временно недоступен",
+                exception.getMessage(),
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+    }
+
+    @ExceptionHandler(GatewayTimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse handleGatewayTimeoutException(final GatewayTimeoutException exception,
+                                                       final HttpServletRequest request) {
+        log.warn("Истёк срок ожидания ответа: {}", exception.getMessage());
+        return new ErrorResponse(
+                "Истёк срок ожидания ответа",
+                exception.getMessage(),
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.GATEWAY_TIMEOUT.value()
+        );
+    }
+
+    @ExceptionHandler(ResourceAccessException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleResourceAccessException(final ResourceAccessException exception,
+                                                       final HttpServletRequest request) {
+        log.warn("shareit-server недоступен: {}", exception.getMessage());
+        return new ErrorResponse(
+                "Сервис временно недоступен",
+                "shareit-server недоступен",
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleUnexpectedException(final Exception exception,
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class GatewayTimeoutException extends RuntimeException {
+
+    public GatewayTimeoutException(String message) {
+        super(message);
+    }
+}
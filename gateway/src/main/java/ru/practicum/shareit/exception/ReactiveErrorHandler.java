@@ -0,0 +1,120 @@
+package ru.practicum.shareit.exception;
+
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveErrorHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleWebExchangeBindException(final WebExchangeBindException exception,
+                                                        final ServerHttpRequest request) {
+        String errorMessage = exception.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        log.warn("Ошибка валидации тела запроса: {}", errorMessage);
+        return badRequest("Ошибка валидации тела запроса", errorMessage, request);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleHandlerMethodValidationException(final HandlerMethodValidationException exception,
+                                                                final ServerHttpRequest request) {
+        String errorMessage = exception.getAllValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> result.getMethodParameter().getParameterName() + ": "
+                                + error.getDefaultMessage()))
+                .collect(Collectors.joining("; "));
+        log.warn("Ошибка валидации параметров запроса: {}", errorMessage);
+        return badRequest("Ошибка валидации параметров запроса", errorMessage, request);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleConstraintViolationException(final ConstraintViolationException exception,
+                                                            final ServerHttpRequest request) {
+        String errorMessage = exception.getConstraintViolations().stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+        log.warn("Ошибка валидации параметров запроса: {}", errorMessage);
+        return badRequest("Ошибка валидации параметров запроса", errorMessage, request);
+    }
+
+    @ExceptionHandler(MissingRequestValueException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMissingRequestValueException(final MissingRequestValueException exception,
+                                                            final ServerHttpRequest request) {
+        log.warn("Не передан обязательный параметр: {}", exception.getName());
+        return badRequest("Ошибка запроса",
+                "Не передан обязательный " + exception.getLabel() + ": " + exception.getName(), request);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleServerWebInputException(final ServerWebInputException exception,
+                                                       final ServerHttpRequest request) {
+        log.warn("Некорректный запрос: {}", exception.getReason());
+        return badRequest("Ошибка запроса", exception.getReason(), request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleIllegalArgumentException(final IllegalArgumentException exception,
+                                                        final ServerHttpRequest request) {
+        return badRequest("Неверный параметр запроса", exception.getMessage(), request);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServiceUnavailableException(final ServiceUnavailableException exception,
+                                                           final ServerHttpRequest request) {
+        log.warn("Сервис временно недоступен: {}", exception.getMessage());
+        return new ErrorResponse(
+                "Сервис временно недоступен",
+                exception.getMessage(),
+                request.getPath().value(),
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+    }
+
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponse handleUnexpectedException(final Exception exception,
+                                                   final ServerHttpRequest request) {
+        log.error("Внутренняя ошибка сервера: {}", exception.getMessage(), exception);
+        return new ErrorResponse(
+                "Внутренняя ошибка сервера",
+                "Произошла непредвиденная ошибка",
+                request.getPath().value(),
+                LocalDateTime.now(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value()
+        );
+    }
+
+    private ErrorResponse badRequest(String error, String description, ServerHttpRequest request) {
+        return new ErrorResponse(
+                error,
+                description,
+                request.getPath().value(),
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+    }
+}
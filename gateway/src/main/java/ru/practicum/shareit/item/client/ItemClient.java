@@ -1,56 +1,117 @@
 package ru.practicum.shareit.item.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.UpstreamCodec;
 import ru.practicum.shareit.item.dto.NewCommentRequestDto;
 import ru.practicum.shareit.item.dto.NewItemRequestDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequestDto;
+import ru.practicum.shareit.resilience.UpstreamGuards;
 
+import java.io.IOException;
 import java.util.Map;
 
+@Slf4j
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private static final String REQUESTS_PREFIX = "/requests";
+
+    private final GatewayResponseCache responseCache;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory upstreamRequestFactory,
+                      GatewayResponseCache responseCache, UpstreamGuards upstreamGuards,
+                      ObjectMapper objectMapper, UpstreamCodec upstreamCodec) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> upstreamRequestFactory)
+                        .build(),
+                upstreamGuards.forClient("items"),
+                upstreamCodec
         );
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
     }
 
     public ResponseEntity<Object> createItem(Long userId, NewItemRequestDto newItemDto) {
-        return post("", userId, newItemDto);
+        ResponseEntity<Object> response = post("", userId, newItemDto);
+        if (newItemDto.getRequestId() != null) {
+            responseCache.evict(REQUESTS_PREFIX + "/" + newItemDto.getRequestId());
+        }
+        return response;
     }
 
-    public ResponseEntity<Object> getItemsByOwnerId(Long ownerId) {
-        return get("", ownerId);
+    public void streamItemsByOwnerId(Long ownerId, HttpServletResponse response) {
+        stream("", ownerId, null, response);
     }
 
     public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+        return responseCache.get(API_PREFIX + "/" + itemId, userId, () -> get("/" + itemId, userId));
+    }
+
+    public ResponseEntity<Object> search(Long userId, String text, Integer from, Integer size,
+                                         @Nullable String cursor) {
+        // без cursor сервер отдаёт страницу по смещению from, поэтому параметр передаётся, только если он есть
+        if (cursor == null) {
+            return get("/search?text={text}&from={from}&size={size}", userId,
+                    Map.of("text", text, "from", from, "size", size));
+        }
+        return get("/search?text={text}&from={from}&size={size}&cursor={cursor}", userId,
+                Map.of("text", text, "from", from, "size", size, "cursor", cursor));
     }
 
-    public ResponseEntity<Object> search(Long userId, String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", userId, parameters);
+    public ResponseEntity<Object> suggest(Long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> updateItem(Long userId, Long itemId, UpdateItemRequestDto updateItemDto) {
-        return patch("/" + itemId, userId, updateItemDto);
+        ResponseEntity<Object> response = patch("/" + itemId, userId, updateItemDto);
+        responseCache.evict(API_PREFIX + "/" + itemId);
+        Long requestId = requestIdOf(response);
+        if (requestId != null) {
+            responseCache.evict(REQUESTS_PREFIX + "/" + requestId);
+        }
+        return response;
     }
 
     public ResponseEntity<Object> createComment(Long userId, Long itemId, NewCommentRequestDto newCommentDto) {
-        return post(("/" + itemId + "/comment"), userId, newCommentDto);
+        ResponseEntity<Object> response = post(("/" + itemId + "/comment"), userId, newCommentDto);
+        responseCache.evict(API_PREFIX + "/" + itemId);
+        return response;
+    }
+
+    // вещь входит в ответ на свой запрос, поэтому его закэшированная версия тоже устарела
+    @Nullable
+    private Long requestIdOf(ResponseEntity<Object> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof byte[] body)) {
+            return null;
+        }
+        try {
+            JsonNode requestId = objectMapper.readTree(body).path("requestId");
+            return requestId.canConvertToLong() ? requestId.asLong() : null;
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать requestId из ответа на изменение вещи: {}", e.getMessage());
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.NewCommentRequestDto;
+import ru.practicum.shareit.item.dto.NewItemRequestDto;
+import ru.practicum.shareit.item.dto.UpdateItemRequestDto;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector upstreamClientConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(upstreamClientConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(Long userId, NewItemRequestDto newItemDto) {
+        return post("", userId, newItemDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsByOwnerId(Long ownerId) {
+        return get("", ownerId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(Long userId, String text, Integer from, Integer size,
+                                                         @Nullable String cursor) {
+        // без cursor сервер отдаёт страницу по смещению from, поэтому параметр передаётся, только если он есть
+        if (cursor == null) {
+            return get("/search?text={text}&from={from}&size={size}", userId,
+                    Map.of("text", text, "from", from, "size", size));
+        }
+        return get("/search?text={text}&from={from}&size={size}&cursor={cursor}", userId,
+                Map.of("text", text, "from", from, "size", size, "cursor", cursor));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> suggest(Long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(Long userId, Long itemId,
+                                                             UpdateItemRequestDto updateItemDto) {
+        return patch("/" + itemId, userId, updateItemDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(Long userId, Long itemId,
+                                                                NewCommentRequestDto newCommentDto) {
+        return post(("/" + itemId + "/comment"), userId, newCommentDto);
+    }
+}
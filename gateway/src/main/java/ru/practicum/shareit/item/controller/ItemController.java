@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,22 +30,37 @@ import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemController {
 
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByOwnerId(@RequestHeader(USER_ID_HEADER_NAME) Long ownerId) {
-        return itemClient.getItemsByOwnerId(ownerId);
+    public void getItemsByOwnerId(@RequestHeader(USER_ID_HEADER_NAME) Long ownerId, HttpServletResponse response) {
+        itemClient.streamItemsByOwnerId(ownerId, response);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getByNameOrDescription(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
-                                                         @RequestParam(required = false) String text) {
+    public ResponseEntity<Object> getByNameOrDescription(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(required = false) String text,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
         if (text == null || text.isBlank()) {
             return ResponseEntity.ok(List.of());
         }
-        return itemClient.search(userId, text);
+        return itemClient.search(userId, text, from, size, cursor);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestNames(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                               @RequestParam(required = false) String prefix,
+                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
+        if (prefix == null || prefix.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return itemClient.suggest(userId, prefix, size);
     }
 
     @GetMapping("/{itemId}")
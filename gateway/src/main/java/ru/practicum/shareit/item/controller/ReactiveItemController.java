@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.controller;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.client.ReactiveItemClient;
+import ru.practicum.shareit.item.dto.NewCommentRequestDto;
+import ru.practicum.shareit.item.dto.NewItemRequestDto;
+import ru.practicum.shareit.item.dto.UpdateItemRequestDto;
+
+import java.nio.charset.StandardCharsets;
+
+import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemController {
+
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final ReactiveItemClient itemClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsByOwnerId(@RequestHeader(USER_ID_HEADER_NAME) Long ownerId) {
+        return itemClient.getItemsByOwnerId(ownerId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByNameOrDescription(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(required = false) String text,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        if (text == null || text.isBlank()) {
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(EMPTY_LIST))));
+        }
+        return itemClient.search(userId, text, from, size, cursor);
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> suggestNames(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(required = false) String prefix,
+            @Positive @RequestParam(defaultValue = "10") Integer size) {
+        if (prefix == null || prefix.isBlank()) {
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(EMPTY_LIST))));
+        }
+        return itemClient.suggest(userId, prefix, size);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                                              @PathVariable Long itemId) {
+        return itemClient.getItemById(userId, itemId);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                                             @Valid @RequestBody NewItemRequestDto newItemDto) {
+        return itemClient.createItem(userId, newItemDto);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @PathVariable Long itemId,
+            @Valid @RequestBody NewCommentRequestDto newCommentDto) {
+        return itemClient.createComment(userId, itemId, newCommentDto);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                                             @PathVariable Long itemId,
+                                                             @Valid @RequestBody UpdateItemRequestDto updateItemDto) {
+        return itemClient.updateItem(userId, itemId, updateItemDto);
+    }
+}
@@ -0,0 +1,281 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// разбивка времени ответа по маршрутам контроллеров: всего, у shareit-server, в ожидании соединения и локально
+// (валидация, Jackson, кэш); размеры считаются по несжатому телу, до gzip на стороне Tomcat
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class RouteMetricsFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "shareit.gateway.route.";
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<RouteKey, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RouteTimings timings = new RouteTimings();
+        request.setAttribute(RouteTimings.ATTRIBUTE, timings);
+        CountingRequest countingRequest = new CountingRequest(request);
+        CountingResponse countingResponse = new CountingResponse(response);
+
+        long startNanos = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(countingRequest, countingResponse);
+            status = response.getStatus();
+        } finally {
+            long totalNanos = System.nanoTime() - startNanos;
+            record(request, status, totalNanos, timings, countingRequest.bytes(), countingResponse.bytes());
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long totalNanos, RouteTimings timings,
+                        long requestBytes, long responseBytes) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+        RouteMeters meters = routeMeters.computeIfAbsent(new RouteKey(request.getMethod(), route, status),
+                this::registerMeters);
+        long upstreamNanos = Math.min(timings.getUpstreamNanos(), totalNanos);
+
+        meters.duration().record(totalNanos, TimeUnit.NANOSECONDS);
+        meters.upstream().record(upstreamNanos, TimeUnit.NANOSECONDS);
+        meters.local().record(totalNanos - upstreamNanos, TimeUnit.NANOSECONDS);
+        meters.lease().record(timings.getLeaseNanos(), TimeUnit.NANOSECONDS);
+        meters.requestSize().record(requestBytes);
+        meters.responseSize().record(responseBytes);
+        meters.responses().increment();
+    }
+
+    // регистрация в MeterRegistry ищет метр по имени и тегам под блокировкой; маршрутов и кодов немного,
+    // поэтому метры создаются один раз на ключ, а не на каждый запрос
+    private RouteMeters registerMeters(RouteKey key) {
+        Tags tags = Tags.of("method", key.method(), "route", key.route());
+        return new RouteMeters(
+                timer("duration", "Полное время обработки запроса в gateway", tags),
+                timer("upstream", "Время ожидания ответов shareit-server", tags),
+                timer("local", "Время обработки в самом gateway: валидация, сериализация, кэш", tags),
+                timer("lease", "Время ожидания соединения из пула к shareit-server", tags),
+                summary("request.size", "Размер тела запроса", tags),
+                summary("response.size", "Размер тела ответа", tags),
+                Counter.builder(PREFIX + "responses")
+                        .description("Ответы по коду статуса")
+                        .tags(tags.and("status", String.valueOf(key.status())))
+                        .register(meterRegistry));
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(PREFIX + name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(PREFIX + name)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private record RouteKey(String method, String route, int status) {
+    }
+
+    private record RouteMeters(Timer duration, Timer upstream, Timer local, Timer lease,
+                               DistributionSummary requestSize, DistributionSummary responseSize,
+                               Counter responses) {
+    }
+
+    private static final class CountingRequest extends HttpServletRequestWrapper {
+
+        private CountingInputStream inputStream;
+
+        private CountingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new CountingInputStream(super.getInputStream());
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        long bytes() {
+            return inputStream != null ? inputStream.count : 0;
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+        private PrintWriter writer;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                        Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+
+        long bytes() {
+            if (writer != null) {
+                writer.flush();
+            }
+            return outputStream != null ? outputStream.count : 0;
+        }
+    }
+
+    private static final class CountingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private long count;
+
+        private CountingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            delegate.write(buffer, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
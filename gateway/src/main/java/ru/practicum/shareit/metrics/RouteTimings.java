@@ -0,0 +1,64 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// время одного входящего запроса, проведённое в обращениях к shareit-server и в ожидании соединения из пула;
+// запрос к серверу может уйти с другого потока (хедж, повтор), поэтому накопитель привязывается к нему явно
+public class RouteTimings {
+
+    static final String ATTRIBUTE = RouteTimings.class.getName();
+
+    private static final ThreadLocal<RouteTimings> BOUND = new ThreadLocal<>();
+
+    private final AtomicLong upstreamNanos = new AtomicLong();
+    private final AtomicLong leaseNanos = new AtomicLong();
+
+    @Nullable
+    public static RouteTimings current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (RouteTimings) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    public static <T> T callBound(@Nullable RouteTimings timings, Supplier<T> call) {
+        if (timings == null) {
+            return call.get();
+        }
+        RouteTimings previous = BOUND.get();
+        BOUND.set(timings);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                BOUND.set(previous);
+            } else {
+                BOUND.remove();
+            }
+        }
+    }
+
+    public static void recordLease(long nanos) {
+        RouteTimings timings = BOUND.get();
+        if (timings != null) {
+            timings.leaseNanos.addAndGet(nanos);
+        }
+    }
+
+    public void addUpstream(long nanos) {
+        upstreamNanos.addAndGet(nanos);
+    }
+
+    public long getUpstreamNanos() {
+        return upstreamNanos.get();
+    }
+
+    public long getLeaseNanos() {
+        return leaseNanos.get();
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.ratelimit;
+
+public record BucketLimits(int capacity, double refillPerSecond) {
+}
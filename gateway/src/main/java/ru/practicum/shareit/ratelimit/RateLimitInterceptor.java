@@ -0,0 +1,60 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
+
+// запросы без X-Sharer-User-Id (например, /users) не ограничиваются: их ключевать не по чему
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final UserRateLimiter rateLimiter;
+    private final Map<RouteClass, Counter> throttled = new EnumMap<>(RouteClass.class);
+
+    public RateLimitInterceptor(UserRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        for (RouteClass routeClass : RouteClass.values()) {
+            throttled.put(routeClass, Counter.builder("shareit.gateway.ratelimit.throttled")
+                    .description("Запросы, отклонённые ограничением частоты")
+                    .tag("route", routeClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = parseUserId(request.getHeader(USER_ID_HEADER_NAME));
+        if (userId == null) {
+            return true;
+        }
+
+        RouteClass routeClass = RouteClass.of(request.getMethod(), request.getRequestURI());
+        long waitNanos = rateLimiter.tryAcquire(userId, routeClass);
+        if (waitNanos > 0) {
+            throttled.get(routeClass).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+            throw new TooManyRequestsException(
+                    "Превышена частота запросов пользователя с id=" + userId, retryAfterSeconds);
+        }
+        return true;
+    }
+
+    private static Long parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+// поиск дороже остальных чтений, поэтому у него отдельный бюджет
+public enum RouteClass {
+    SEARCH,
+    READ,
+    WRITE;
+
+    public static RouteClass of(String method, String path) {
+        if (!HttpMethod.GET.matches(method)) {
+            return WRITE;
+        }
+        return path.startsWith("/items/search") ? SEARCH : READ;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// без блокировок: неизменяемая пара (токены, время пополнения) заменяется через compare-and-set
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(BucketLimits limits, long nowNanos) {
+        this.capacity = limits.capacity();
+        this.tokensPerNano = limits.refillPerSecond() / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    // 0, если токен получен, иначе сколько наносекунд ждать следующего
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            long refilledAt = Math.max(nowNanos, current.refilledAtNanos());
+            double tokens = Math.min(capacity,
+                    current.tokens() + (refilledAt - current.refilledAtNanos()) * tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, refilledAt))) {
+                return 0;
+            }
+        }
+    }
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+}
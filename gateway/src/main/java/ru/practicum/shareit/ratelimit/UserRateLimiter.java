@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+
+// корзины неактивных пользователей вытесняются, и память не растёт с числом когда-либо обращавшихся
+public class UserRateLimiter {
+
+    private final Map<RouteClass, BucketLimits> limits;
+    private final Cache<Key, TokenBucket> buckets;
+
+    public UserRateLimiter(Map<RouteClass, BucketLimits> limits, long maxBuckets, Duration idleExpiry) {
+        this.limits = Map.copyOf(limits);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    // 0, если запрос можно пропустить, иначе сколько наносекунд пользователю стоит подождать
+    public long tryAcquire(long userId, RouteClass routeClass) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new Key(userId, routeClass),
+                key -> new TokenBucket(limits.get(routeClass), now));
+        return bucket.tryConsume(now);
+    }
+
+    public long trackedBuckets() {
+        return buckets.estimatedSize();
+    }
+
+    private record Key(long userId, RouteClass routeClass) {
+    }
+}
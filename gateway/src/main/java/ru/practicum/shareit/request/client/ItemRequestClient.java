@@ -1,46 +1,61 @@
 package ru.practicum.shareit.request.client;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.UpstreamCodec;
 import ru.practicum.shareit.request.dto.NewItemRequestRequestDto;
+import ru.practicum.shareit.resilience.UpstreamGuards;
 
 import java.util.Map;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory upstreamRequestFactory,
+                             GatewayResponseCache responseCache, UpstreamGuards upstreamGuards,
+                             UpstreamCodec upstreamCodec) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> upstreamRequestFactory)
+                        .build(),
+                upstreamGuards.forClient("requests"),
+                upstreamCodec
         );
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> createItemRequest(Long userId, NewItemRequestRequestDto newItemRequestDto) {
         return post("", userId, newItemRequestDto);
     }
 
-    public ResponseEntity<Object> getOwnItemRequests(Long requestorId) {
-        return get("", requestorId);
+    public void streamOwnItemRequests(Long requestorId, HttpServletResponse response) {
+        stream("", requestorId, null, response);
     }
 
-    public ResponseEntity<Object> getAllOtherUsersItemRequests(Long userId, Integer from, Integer size) {
+    public void streamAllOtherUsersItemRequests(Long userId, Integer from, Integer size,
+                                                HttpServletResponse response) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+        stream("/all?from={from}&size={size}", userId, parameters, response);
     }
 
     public ResponseEntity<Object> getItemRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+        return responseCache.get(API_PREFIX + "/" + requestId, userId, () -> get("/" + requestId, userId));
     }
 }
\ No newline at end of file
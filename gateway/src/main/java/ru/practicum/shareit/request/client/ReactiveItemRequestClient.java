@@ -0,0 +1,51 @@
+package ru.practicum.shareit.request.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.NewItemRequestRequestDto;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ClientHttpConnector upstreamClientConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(upstreamClientConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItemRequest(Long userId,
+                                                                    NewItemRequestRequestDto newItemRequestDto) {
+        return post("", userId, newItemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnItemRequests(Long requestorId) {
+        return get("", requestorId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOtherUsersItemRequests(Long userId, Integer from,
+                                                                               Integer size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemRequestById(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
+    }
+}
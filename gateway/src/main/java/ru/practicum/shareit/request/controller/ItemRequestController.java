@@ -1,8 +1,10 @@
 package ru.practicum.shareit.request.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,21 +24,24 @@ import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/requests")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestController {
 
     private final ItemRequestClient itemRequestClient;
 
     @GetMapping
-    public ResponseEntity<Object> getOwnItemRequests(@RequestHeader(USER_ID_HEADER_NAME) Long requestorId) {
-        return itemRequestClient.getOwnItemRequests(requestorId);
+    public void getOwnItemRequests(@RequestHeader(USER_ID_HEADER_NAME) Long requestorId,
+                                   HttpServletResponse response) {
+        itemRequestClient.streamOwnItemRequests(requestorId, response);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllOtherUsersItemRequests(
+    public void getAllOtherUsersItemRequests(
             @RequestHeader(USER_ID_HEADER_NAME) Long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @PositiveOrZero Integer size) {
-        return itemRequestClient.getAllOtherUsersItemRequests(userId, from, size);
+            @RequestParam(defaultValue = "10") @PositiveOrZero Integer size,
+            HttpServletResponse response) {
+        itemRequestClient.streamAllOtherUsersItemRequests(userId, from, size, response);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.request.controller;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.client.ReactiveItemRequestClient;
+import ru.practicum.shareit.request.dto.NewItemRequestRequestDto;
+
+import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/requests")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestController {
+
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnItemRequests(
+            @RequestHeader(USER_ID_HEADER_NAME) Long requestorId) {
+        return itemRequestClient.getOwnItemRequests(requestorId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOtherUsersItemRequests(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @PositiveOrZero Integer size) {
+        return itemRequestClient.getAllOtherUsersItemRequests(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemRequestById(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                                                     @PathVariable Long requestId) {
+        return itemRequestClient.getItemRequestById(userId, requestId);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItemRequest(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @Valid @RequestBody NewItemRequestRequestDto newItemRequestDto) {
+        return itemRequestClient.createItemRequest(userId, newItemRequestDto);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.resilience;
+
+import java.util.Arrays;
+
+// скользящее окно последних задержек; перцентиль пересчитывается не чаще раза в recomputeEvery замеров
+public class LatencyWindow {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minimumSamples;
+    private final int recomputeEvery;
+
+    private int index;
+    private int count;
+    private int sinceRecompute;
+    private long cachedPercentileNanos = -1;
+
+    public LatencyWindow(int size, double percentile, int minimumSamples) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.minimumSamples = Math.min(minimumSamples, size);
+        this.recomputeEvery = Math.max(1, size / 16);
+    }
+
+    public synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        sinceRecompute++;
+    }
+
+    // -1, пока замеров слишком мало, чтобы оценить перцентиль
+    public synchronized long percentileNanos() {
+        if (count < minimumSamples) {
+            return -1;
+        }
+        if (cachedPercentileNanos < 0 || sinceRecompute >= recomputeEvery) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * count) - 1;
+            cachedPercentileNanos = sorted[Math.max(0, Math.min(rank, count - 1))];
+            sinceRecompute = 0;
+        }
+        return cachedPercentileNanos;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.resilience;
+
+// каждый запрос пополняет бюджет на ratio, каждый повтор или хедж тратит единицу;
+// minPerSecond оставляет немного повторов при малом трафике, maxTokens не даёт накопить их на всплеск
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxTokens;
+
+    private double tokens;
+    private long refilledAtNanos;
+
+    public RetryBudget(double ratio, double minPerSecond, double maxTokens) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    public synchronized void onRequest() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(maxTokens, tokens + (now - refilledAtNanos) * minPerSecond / 1_000_000_000d);
+        refilledAtNanos = now;
+    }
+}
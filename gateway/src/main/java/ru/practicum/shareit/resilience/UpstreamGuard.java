@@ -0,0 +1,223 @@
+package ru.practicum.shareit.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.GatewayTimeoutException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// неудачей считаются ошибки ввода-вывода, ответы 5xx и вызовы дольше slowCallNanos
+@RequiredArgsConstructor
+public class UpstreamGuard {
+
+    private final String clientName;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final long slowCallNanos;
+    private final Counter rejectedByBulkhead;
+    private final Counter rejectedByCircuitBreaker;
+    private final long deadlineNanos;
+    private final boolean hedgingEnabled;
+    private final long minHedgeDelayNanos;
+    private final LatencyWindow latencies;
+    private final RetryBudget retryBudget;
+    private final Executor hedgeExecutor;
+    private final Counter hedges;
+    private final Counter retries;
+    private final Counter retriesDenied;
+
+    public ResponseEntity<Object> execute(Supplier<ResponseEntity<Object>> call) {
+        return execute(call, true);
+    }
+
+    // длительность потоковой передачи зависит от того, как быстро читает клиент, поэтому медленной она не считается
+    public ResponseEntity<Object> executeStreaming(Supplier<ResponseEntity<Object>> call) {
+        return execute(call, false);
+    }
+
+    private ResponseEntity<Object> execute(Supplier<ResponseEntity<Object>> call, boolean detectSlowCalls) {
+        if (!bulkhead.tryAcquire()) {
+            rejectedByBulkhead.increment();
+            throw new ServiceUnavailableException(
+                    "Превышено число одновременных запросов к shareit-server (" + clientName + ")");
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                rejectedByCircuitBreaker.increment();
+                throw new ServiceUnavailableException(
+                        "shareit-server (" + clientName + ") временно недоступен, запросы не отправляются");
+            }
+            return callAndRecord(call, detectSlowCalls);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    // только для идемпотентных запросов: хедж и повтор могут выполнить один и тот же запрос на сервере дважды
+    public ResponseEntity<Object> executeIdempotent(long deadlineAtNanos, Supplier<ResponseEntity<Object>> call) {
+        retryBudget.onRequest();
+        ResponseEntity<Object> response;
+        try {
+            response = executeHedged(deadlineAtNanos, call);
+        } catch (ResourceAccessException e) {
+            if (!mayRetry(deadlineAtNanos)) {
+                throw e;
+            }
+            return executeTimed(call);
+        }
+
+        if (isRetryable(response) && mayRetry(deadlineAtNanos)) {
+            return executeTimed(call);
+        }
+        return response;
+    }
+
+    public long newDeadlineNanos() {
+        return System.nanoTime() + deadlineNanos;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    private ResponseEntity<Object> callAndRecord(Supplier<ResponseEntity<Object>> call, boolean detectSlowCalls) {
+        long startNanos = System.nanoTime();
+        ResponseEntity<Object> response;
+        try {
+            response = call.get();
+        } catch (ServiceUnavailableException | GatewayTimeoutException e) {
+            circuitBreaker.onIgnored();
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        }
+
+        boolean slow = detectSlowCalls && System.nanoTime() - startNanos > slowCallNanos;
+        if (response.getStatusCode().is5xxServerError() || slow) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+        return response;
+    }
+
+    // второй запрос уходит, только если первый не ответил за перцентиль задержки и бюджет повторов не исчерпан
+    private ResponseEntity<Object> executeHedged(long deadlineAtNanos, Supplier<ResponseEntity<Object>> call) {
+        long hedgeDelayNanos = hedgeDelayNanos();
+        if (hedgeDelayNanos < 0 || deadlineAtNanos - System.nanoTime() <= hedgeDelayNanos) {
+            return executeTimed(call);
+        }
+
+        CompletableFuture<ResponseEntity<Object>> primary =
+                CompletableFuture.supplyAsync(() -> executeTimed(call), hedgeExecutor);
+        try {
+            return primary.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!retryBudget.tryWithdraw()) {
+                retriesDenied.increment();
+                return join(primary);
+            }
+            hedges.increment();
+            CompletableFuture<ResponseEntity<Object>> hedge =
+                    CompletableFuture.supplyAsync(() -> executeTimed(call), hedgeExecutor);
+            return join(firstSuccessful(primary, hedge));
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Ожидание ответа shareit-server (" + clientName + ") прервано");
+        }
+    }
+
+    private ResponseEntity<Object> executeTimed(Supplier<ResponseEntity<Object>> call) {
+        long startNanos = System.nanoTime();
+        ResponseEntity<Object> response = execute(call);
+        if (!response.getStatusCode().is5xxServerError()) {
+            latencies.record(System.nanoTime() - startNanos);
+        }
+        return response;
+    }
+
+    private long hedgeDelayNanos() {
+        if (!hedgingEnabled) {
+            return -1;
+        }
+        long percentileNanos = latencies.percentileNanos();
+        return percentileNanos < 0 ? -1 : Math.max(percentileNanos, minHedgeDelayNanos);
+    }
+
+    private boolean mayRetry(long deadlineAtNanos) {
+        if (deadlineAtNanos - System.nanoTime() <= 0) {
+            return false;
+        }
+        if (!retryBudget.tryWithdraw()) {
+            retriesDenied.increment();
+            return false;
+        }
+        retries.increment();
+        return true;
+    }
+
+    private static boolean isRetryable(ResponseEntity<Object> response) {
+        return response.getStatusCode().isSameCodeAs(HttpStatus.BAD_GATEWAY)
+                || response.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || response.getStatusCode().isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    // проигравший запрос не прерывается: блокирующий ввод-вывод всё равно не отменить, его ответ отбрасывается
+    private static CompletableFuture<ResponseEntity<Object>> firstSuccessful(
+            CompletableFuture<ResponseEntity<Object>> primary, CompletableFuture<ResponseEntity<Object>> hedge) {
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        for (CompletableFuture<ResponseEntity<Object>> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, error) -> {
+                boolean succeeded = error == null && !response.getStatusCode().is5xxServerError();
+                if (succeeded) {
+                    result.complete(response);
+                } else if (pending.decrementAndGet() == 0) {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(response);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    private static ResponseEntity<Object> join(CompletableFuture<ResponseEntity<Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(error);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// размер bulkhead переопределяется через shareit-server.resilience.<клиент>.max-concurrent-calls;
+// бюджет повторов общий для всех клиентов, чтобы при отказе сервера повторы не умножали нагрузку на него
+public class UpstreamGuards {
+
+    private static final String PREFIX = "shareit-server.resilience.";
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final RetryBudget retryBudget;
+    private final Executor hedgeExecutor;
+
+    public UpstreamGuards(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.retryBudget = new RetryBudget(
+                property("retry-budget.ratio", Double.class, 0.1),
+                property("retry-budget.min-per-second", Double.class, 5.0),
+                property("retry-budget.max-tokens", Double.class, 20.0));
+        this.hedgeExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("upstream-hedge-", 0).factory());
+
+        Gauge.builder("shareit.gateway.retry.budget.tokens", retryBudget, RetryBudget::availableTokens)
+                .description("Доступные повторы и хеджированные запросы к shareit-server")
+                .register(meterRegistry);
+    }
+
+    public UpstreamGuard forClient(String clientName) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                property("window-size", Integer.class, 20),
+                property("minimum-calls", Integer.class, 10),
+                property("failure-rate-threshold", Double.class, 0.5),
+                property("open-duration", Duration.class, Duration.ofSeconds(10)),
+                property("half-open-probes", Integer.class, 3));
+        Bulkhead bulkhead = new Bulkhead(
+                environment.getProperty(PREFIX + clientName + ".max-concurrent-calls", Integer.class,
+                        property("max-concurrent-calls", Integer.class, 50)),
+                property("bulkhead-max-wait", Duration.class, Duration.ZERO));
+
+        Gauge.builder("shareit.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Состояние circuit breaker: 0 — закрыт, 1 — открыт, 2 — полуоткрыт")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.bulkhead.available", bulkhead, Bulkhead::availablePermits)
+                .description("Свободные слоты bulkhead клиента")
+                .tag("client", clientName)
+                .register(meterRegistry);
+
+        return new UpstreamGuard(clientName, circuitBreaker, bulkhead,
+                property("slow-call-threshold", Duration.class, Duration.ofSeconds(3)).toNanos(),
+                rejectedCounter(clientName, "bulkhead"),
+                rejectedCounter(clientName, "circuit-open"),
+                property("deadline", Duration.class, Duration.ofSeconds(10)).toNanos(),
+                property("hedging.enabled", Boolean.class, true),
+                property("hedging.min-delay", Duration.class, Duration.ofMillis(50)).toNanos(),
+                new LatencyWindow(
+                        property("hedging.window-size", Integer.class, 256),
+                        property("hedging.percentile", Double.class, 0.95),
+                        property("hedging.minimum-samples", Integer.class, 20)),
+                retryBudget,
+                hedgeExecutor,
+                extraAttemptCounter(clientName, "hedge"),
+                extraAttemptCounter(clientName, "retry"),
+                extraAttemptCounter(clientName, "budget-exhausted"));
+    }
+
+    private Counter extraAttemptCounter(String clientName, String kind) {
+        return Counter.builder("shareit.gateway.upstream.extra-attempts")
+                .description("Хеджированные и повторные запросы к shareit-server и отказы в них из-за бюджета")
+                .tag("client", clientName)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private Counter rejectedCounter(String clientName, String reason) {
+        return Counter.builder("shareit.gateway.upstream.rejected")
+                .description("Запросы, отклонённые без обращения к shareit-server")
+                .tag("client", clientName)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private <T> T property(String name, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + name, type, defaultValue);
+    }
+}
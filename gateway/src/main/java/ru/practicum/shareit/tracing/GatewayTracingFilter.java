@@ -0,0 +1,20 @@
+package ru.practicum.shareit.tracing;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+// трасса начинается в gateway, если клиент не прислал свой traceparent; её id возвращается в X-Trace-Id
+public class GatewayTracingFilter extends TracingFilter {
+
+    public static final String TRACE_ID_HEADER_NAME = "X-Trace-Id";
+
+    public GatewayTracingFilter(Tracer tracer) {
+        super(tracer);
+    }
+
+    @Override
+    protected void onRootSpanStarted(Span span, HttpServletResponse response) {
+        if (span.isRecording()) {
+            response.setHeader(TRACE_ID_HEADER_NAME, span.context().traceId());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+// клиентский спан на каждую попытку, включая хеджи и повторы; shareit-server получает его id как родителя
+@RequiredArgsConstructor
+public class TracingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Tracer tracer;
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        Span span = tracer.startChildSpan(request.getMethod() + " " + request.getURI().getPath(), "CLIENT");
+        if (span == null) {
+            return execution.execute(request, body);
+        }
+        span.setAttribute("http.method", request.getMethod());
+        request.getHeaders().set(SpanContext.TRACEPARENT_HEADER_NAME, span.context().traceparent());
+
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            span.setAttribute("http.status", response.getStatusCode().value());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
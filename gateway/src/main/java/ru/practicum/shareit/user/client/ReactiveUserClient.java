@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.NewUserRequestDto;
+import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector upstreamClientConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(upstreamClientConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(NewUserRequestDto newUserDto) {
+        return post("", newUserDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllUsers() {
+        return get("/");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(Long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(Long userId, UpdateUserRequestDto updateUserDto) {
+        return patch("/" + userId, updateUserDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUserById(Long userId) {
+        return delete("/" + userId);
+    }
+}
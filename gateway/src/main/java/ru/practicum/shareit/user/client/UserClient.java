@@ -2,28 +2,41 @@ package ru.practicum.shareit.user.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.UpstreamCodec;
+import ru.practicum.shareit.resilience.UpstreamGuards;
 import ru.practicum.shareit.user.dto.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory upstreamRequestFactory,
+                      GatewayResponseCache responseCache, UpstreamGuards upstreamGuards,
+                      UpstreamCodec upstreamCodec) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> upstreamRequestFactory)
+                        .build(),
+                upstreamGuards.forClient("users"),
+                upstreamCodec
         );
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> createUser(NewUserRequestDto newUserDto) {
@@ -35,14 +48,19 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUserById(Long userId) {
-        return get("/" + userId);
+        return responseCache.get(API_PREFIX + "/" + userId, null, () -> get("/" + userId));
     }
 
+    // имя пользователя попадает в чужие ответы (например, в комментарии), поэтому сбрасывается весь кэш
     public ResponseEntity<Object> updateUser(Long userId, UpdateUserRequestDto updateUserDto) {
-        return patch("/" + userId, updateUserDto);
+        ResponseEntity<Object> response = patch("/" + userId, updateUserDto);
+        responseCache.evictAll();
+        return response;
     }
 
     public ResponseEntity<Object> deleteUserById(Long userId) {
-        return delete("/" + userId);
+        ResponseEntity<Object> response = delete("/" + userId);
+        responseCache.evictAll();
+        return response;
     }
 }
\ No newline at end of file
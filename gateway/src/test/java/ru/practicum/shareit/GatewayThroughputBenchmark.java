@@ -0,0 +1,156 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// запуск: mvn -pl gateway -am test -Dtest=GatewayThroughputBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+// для сравнения -Dbenchmark.virtual-threads=false или -Dspring.profiles.active=reactive; 10 000 соединений
+// в одном процессе требуют ulimit -n не меньше 65536
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000",
+        "logging.level.org.springframework.web.client.RestTemplate=INFO",
+        "shareit-server.cache.enabled=false",
+        "shareit-server.rate-limit.enabled=false"
+})
+class GatewayThroughputBenchmark {
+
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("benchmark.requests-per-connection", 5);
+    private static final long UPSTREAM_LATENCY_MS = Long.getLong("benchmark.upstream-latency-ms", 50);
+    private static final byte[] STUB_BODY =
+            "{\"id\":1,\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static HttpServer stubServer;
+
+    @LocalServerPort
+    private int gatewayPort;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) throws IOException {
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "20000");
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+        stubServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubServer.createContext("/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, STUB_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(STUB_BODY);
+            }
+        });
+        stubServer.start();
+
+        String upstreamLimit = System.getProperty("benchmark.upstream-limit", "2000");
+        registry.add("shareit-server.url", () -> "http://localhost:" + stubServer.getAddress().getPort());
+        registry.add("spring.threads.virtual.enabled", () -> System.getProperty("benchmark.virtual-threads", "true"));
+        registry.add("shareit-server.max-concurrent-requests", () -> upstreamLimit);
+        registry.add("shareit-server.http-client.max-total", () -> upstreamLimit);
+        registry.add("shareit-server.http-client.max-per-route", () -> upstreamLimit);
+        registry.add("shareit-server.concurrency-acquire-timeout", () -> "30s");
+        registry.add("shareit-server.http-client.lease-timeout", () -> "30s");
+        registry.add("shareit-server.reactive.max-pending-requests", () -> "20000");
+        registry.add("shareit-server.resilience.max-concurrent-calls", () -> upstreamLimit);
+        registry.add("shareit-server.resilience.bulkhead-max-wait", () -> "30s");
+        registry.add("shareit-server.resilience.slow-call-threshold", () -> "30s");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubServer.stop(0);
+    }
+
+    @ParameterizedTest(name = "{0} одновременных соединений")
+    @ValueSource(ints = {1_000, 5_000, 10_000})
+    void measureThroughput(int concurrentConnections) throws Exception {
+        URI uri = URI.create("http://localhost:" + gatewayPort + "/items/1");
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<long[]>> clients = new ArrayList<>(concurrentConnections);
+
+        long startNanos = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrentConnections; i++) {
+                clients.add(executor.submit(() -> runConnection(uri, failures)));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long[] latencies = clients.stream()
+                .flatMapToLong(client -> Arrays.stream(client.resultNow()))
+                .sorted()
+                .toArray();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        System.out.printf("virtual-threads=%s connections=%d requests=%d failures=%d throughput=%.0f req/s "
+                        + "p50=%.1f ms p99=%.1f ms%n",
+                System.getProperty("benchmark.virtual-threads", "true"), concurrentConnections, latencies.length,
+                failures.get(), latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+
+    private long[] runConnection(URI uri, AtomicInteger failures) {
+        long[] latencies = new long[REQUESTS_PER_CONNECTION];
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("X-Sharer-User-Id", "1")
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            for (int i = 0; i < REQUESTS_PER_CONNECTION; i++) {
+                long startNanos = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    failures.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.incrementAndGet();
+                }
+                latencies[i] = System.nanoTime() - startNanos;
+            }
+        }
+        return latencies;
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadBalancerTest {
+
+    private final ServerEndpoint first = new ServerEndpoint(URI.create("http://server-1:9090"));
+    private final ServerEndpoint second = new ServerEndpoint(URI.create("http://server-2:9090"));
+    private final ServerEndpoint third = new ServerEndpoint(URI.create("http://server-3:9090"));
+
+    @Test
+    void shouldPickEndpointWithFewestOutstandingRequests() {
+        LoadBalancer loadBalancer = balancer(LoadBalancer.Strategy.LEAST_OUTSTANDING, 50);
+        first.onStart();
+        first.onStart();
+        second.onStart();
+
+        assertThat(loadBalancer.choose("1")).isSameAs(third);
+        third.onStart();
+        third.onStart();
+        assertThat(loadBalancer.choose("1")).isSameAs(second);
+    }
+
+    @Test
+    void shouldKeepUserOnSameEndpointAndMoveOnlyUsersOfUnavailableOne() {
+        LoadBalancer loadBalancer = balancer(LoadBalancer.Strategy.USER_HASH, 50);
+        Set<ServerEndpoint> used = new HashSet<>();
+        for (int userId = 1; userId <= 100; userId++) {
+            ServerEndpoint endpoint = loadBalancer.choose(String.valueOf(userId));
+            assertThat(loadBalancer.choose(String.valueOf(userId))).isSameAs(endpoint);
+            used.add(endpoint);
+        }
+        assertThat(used).hasSize(3);
+
+        String userOfFirst = userOf(loadBalancer, first);
+        String userOfSecond = userOf(loadBalancer, second);
+        makeUnhealthy(first);
+
+        assertThat(loadBalancer.choose(userOfFirst)).isNotSameAs(first);
+        assertThat(loadBalancer.choose(userOfSecond)).isSameAs(second);
+    }
+
+    @Test
+    void shouldEjectEndpointAfterConsecutiveFailuresButNotOverMaxPercent() {
+        LoadBalancer loadBalancer = balancer(LoadBalancer.Strategy.LEAST_OUTSTANDING, 34);
+
+        failThreeTimes(loadBalancer, first);
+        failThreeTimes(loadBalancer, second);
+
+        assertThat(first.isEjected()).isTrue();
+        assertThat(second.isEjected()).isFalse();
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose(null)).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    void shouldUseAllEndpointsWhenNoneIsAvailable() {
+        LoadBalancer loadBalancer = balancer(LoadBalancer.Strategy.USER_HASH, 50);
+        makeUnhealthy(first);
+        makeUnhealthy(second);
+        makeUnhealthy(third);
+
+        assertThat(loadBalancer.choose("1")).isNotNull();
+        assertThat(loadBalancer.choose(null)).isNotNull();
+    }
+
+    private LoadBalancer balancer(LoadBalancer.Strategy strategy, int maxEjectionPercent) {
+        return new LoadBalancer(List.of(first, second, third), strategy, 3,
+                TimeUnit.MINUTES.toNanos(1), TimeUnit.MINUTES.toNanos(5), maxEjectionPercent);
+    }
+
+    private static String userOf(LoadBalancer loadBalancer, ServerEndpoint endpoint) {
+        for (int userId = 1; ; userId++) {
+            if (loadBalancer.choose(String.valueOf(userId)) == endpoint) {
+                return String.valueOf(userId);
+            }
+        }
+    }
+
+    private static void failThreeTimes(LoadBalancer loadBalancer, ServerEndpoint endpoint) {
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onFailure(endpoint);
+        }
+    }
+
+    private static void makeUnhealthy(ServerEndpoint endpoint) {
+        endpoint.onHealthCheck(false, 1, 1);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.balancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class LoadBalancingInterceptorTest {
+
+    private final ServerEndpoint first = new ServerEndpoint(URI.create("http://server-1:9090"));
+    private final ServerEndpoint second = new ServerEndpoint(URI.create("http://server-2:9091"));
+    private final RestTemplate rest = new RestTemplate();
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        LoadBalancer loadBalancer = new LoadBalancer(List.of(first, second),
+                LoadBalancer.Strategy.LEAST_OUTSTANDING, 2, TimeUnit.MINUTES.toNanos(1),
+                TimeUnit.MINUTES.toNanos(5), 50);
+        rest.getInterceptors().add(new LoadBalancingInterceptor(loadBalancer));
+        server = MockRestServiceServer.bindTo(rest).ignoreExpectOrder(true).build();
+    }
+
+    @Test
+    void shouldRewriteHostKeepingPathAndQueryAndReleaseAfterResponseIsRead() {
+        makeUnhealthy(second);
+        server.expect(requestTo("http://server-1:9090/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        String body = rest.getForObject(
+                URI.create("http://localhost:9090/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C"), String.class);
+
+        assertThat(body).isEqualTo("[]");
+        assertThat(first.getOutstanding()).isZero();
+        server.verify();
+    }
+
+    @Test
+    void shouldEjectEndpointThatKeepsFailingAndSendTrafficToTheOther() {
+        makeUnhealthy(second);
+        server.expect(ExpectedCount.twice(), requestTo("http://server-1:9090/users"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(requestTo("http://server-2:9091/users")).andRespond(withSuccess());
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> rest.getForObject("http://localhost:9090/users", String.class))
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+        second.onHealthCheck(true, 1, 1);
+        rest.getForObject("http://localhost:9090/users", String.class);
+
+        assertThat(first.isEjected()).isTrue();
+        server.verify();
+    }
+
+    private static void makeUnhealthy(ServerEndpoint endpoint) {
+        endpoint.onHealthCheck(false, 1, 1);
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.batch.dto.BatchEntryRequestDto;
+import ru.practicum.shareit.batch.dto.BatchEntryResponseDto;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.service.BatchExecutor;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.request.client.ItemRequestClient;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// подзапросы идут через контроллеры и ErrorHandler gateway; shareit-server заменён моками клиентов
+@SpringBootTest(properties = {"shareit-server.rate-limit.enabled=false", "shareit-server.batch.max-requests=5"})
+class BatchExecutorTest {
+
+    private static final long USER_ID = 1L;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @MockBean
+    private ItemRequestClient itemRequestClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    @Test
+    void shouldRunSubRequestsConcurrentlyAndKeepTheirOrder() {
+        CountDownLatch bookingsRequested = new CountDownLatch(1);
+        when(itemClient.getItemById(USER_ID, 3L)).thenAnswer(invocation -> {
+            assertThat(bookingsRequested.await(5, TimeUnit.SECONDS)).isTrue();
+            return json("{\"id\":3}");
+        });
+        doAnswer(invocation -> {
+            bookingsRequested.countDown();
+            HttpServletResponse response = invocation.getArgument(5);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write("[{\"id\":8}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingClient).streamBookingsByBookerId(eq(USER_ID), eq(BookingState.PAST), eq(0), eq(10), isNull(),
+                any(HttpServletResponse.class));
+
+        List<BatchEntryResponseDto> responses = execute(USER_ID, batch(
+                entry("item", "GET", "/items/3", null),
+                entry("bookings", "GET", "/bookings?state=past", null)
+        )).getResponses();
+
+        assertThat(responses).extracting(BatchEntryResponseDto::getId).containsExactly("item", "bookings");
+        assertThat(responses).extracting(BatchEntryResponseDto::getStatus).containsExactly(200, 200);
+        assertThat(responses.get(0).getBody()).isEqualTo("{\"id\":3}");
+        assertThat(responses.get(1).getBody()).isEqualTo("[{\"id\":8}]");
+    }
+
+    @Test
+    void shouldValidateEachBodyWithDtoConstraints() throws Exception {
+        when(itemClient.getItemById(USER_ID, 3L)).thenReturn(json("{\"id\":3}"));
+
+        List<BatchEntryResponseDto> responses = execute(USER_ID, batch(
+                entry("comment", "POST", "/items/3/comment", "{\"text\":\"\"}"),
+                entry("item", "GET", "/items/3", null)
+        )).getResponses();
+
+        assertThat(responses.get(0).getStatus()).isEqualTo(400);
+        assertThat(objectMapper.readTree(responses.get(0).getBody()).path("error").asText())
+                .isEqualTo("Ошибка валидации тела запроса");
+        assertThat(responses.get(1).getStatus()).isEqualTo(200);
+        verify(itemClient, never()).createComment(any(), any(), any());
+    }
+
+    @Test
+    void shouldPassEntryHeadersAndKeepResponseHeadersOutOfBatchResponse() {
+        when(itemClient.getItemById(USER_ID, 3L)).thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag("\"v1\"").build());
+        BatchEntryRequestDto entry = entry("item", "GET", "/items/3", null);
+        entry.setHeaders(Map.of(HttpHeaders.IF_NONE_MATCH, "\"v1\"", "X-Sharer-User-Id", "2"));
+
+        MockHttpServletResponse batchResponse = new MockHttpServletResponse();
+
+        List<BatchEntryResponseDto> responses = batchExecutor.execute(new MockHttpServletRequest("POST", "/batch"),
+                batchResponse, USER_ID, batch(entry)).getResponses();
+
+        assertThat(batchResponse.getHeaderNames()).isEmpty();
+        assertThat(responses.get(0).getStatus()).isEqualTo(304);
+        assertThat(responses.get(0).getBody()).isNull();
+        assertThat(responses.get(0).getHeaders()).containsEntry(HttpHeaders.ETAG, "\"v1\"");
+        verify(itemClient).getItemById(USER_ID, 3L);
+    }
+
+    @Test
+    void shouldReportRoutingErrorsPerEntry() {
+        List<BatchEntryResponseDto> responses = execute(null, batch(
+                entry("unknown", "GET", "/unknown", null),
+                entry("method", "PUT", "/items/3", null),
+                entry("header", "GET", "/items/3", null),
+                entry("state", "GET", "/bookings/owner?state=SOMETIMES", null),
+                entry("id", "GET", "/users/abc", null)
+        )).getResponses();
+
+        assertThat(responses).extracting(BatchEntryResponseDto::getStatus).containsExactly(404, 405, 400, 400, 400);
+        verifyNoInteractions(itemClient, bookingClient, userClient);
+    }
+
+    @Test
+    void shouldNotDispatchNestedBatchOrActuator() {
+        List<BatchEntryResponseDto> responses = execute(USER_ID, batch(
+                entry("nested", "POST", "/batch", "{\"requests\":[]}"),
+                entry("actuator", "GET", "/actuator/health", null)
+        )).getResponses();
+
+        assertThat(responses).extracting(BatchEntryResponseDto::getStatus).containsExactly(404, 404);
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanLimit() {
+        BatchEntryRequestDto entry = entry("user", "GET", "/users/1", null);
+
+        assertThatThrownBy(() -> execute(USER_ID, batch(entry, entry, entry, entry, entry, entry)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(userClient);
+    }
+
+    private BatchResponseDto execute(Long userId, BatchRequestDto batchDto) {
+        return batchExecutor.execute(new MockHttpServletRequest("POST", "/batch"), new MockHttpServletResponse(),
+                userId, batchDto);
+    }
+
+    private BatchEntryRequestDto entry(String id, String method, String path, String body) {
+        try {
+            return new BatchEntryRequestDto(id, method, path, null, body != null ? objectMapper.readTree(body) : null);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BatchRequestDto batch(BatchEntryRequestDto... entries) {
+        return new BatchRequestDto(List.of(entries));
+    }
+
+    private static ResponseEntity<Object> json(String body) {
+        return ResponseEntity.<Object>ok(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
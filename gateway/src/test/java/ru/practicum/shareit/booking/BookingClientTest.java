@@ -0,0 +1,107 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.UpstreamCodec;
+import ru.practicum.shareit.resilience.UpstreamGuards;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BookingClientTest {
+
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final long USER_ID = 1L;
+
+    private final MockServerRestTemplateCustomizer server = new MockServerRestTemplateCustomizer();
+
+    private GatewayResponseCache responseCache;
+    private BookingClient bookingClient;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        responseCache = new GatewayResponseCache(meterRegistry, true, 100, Duration.ofMinutes(1),
+                Duration.ofMinutes(1));
+        bookingClient = new BookingClient(SERVER_URL, new RestTemplateBuilder(server),
+                new SimpleClientHttpRequestFactory(), responseCache,
+                new UpstreamGuards(meterRegistry, new MockEnvironment()), new ObjectMapper(), UpstreamCodec.json());
+    }
+
+    @AfterEach
+    void tearDown() {
+        responseCache.close();
+    }
+
+    @Test
+    void shouldEvictCachedItemViewWhenItsBookingIsApproved() {
+        server.getServer().expect(requestTo(SERVER_URL + "/bookings/5?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":5,\"item\":{\"id\":3,\"name\":\"Дрель\"},\"status\":\"APPROVED\"}",
+                        MediaType.APPLICATION_JSON));
+        AtomicInteger itemLoads = new AtomicInteger();
+
+        responseCache.get("/items/3", USER_ID, () -> loadItem(itemLoads));
+        responseCache.get("/items/3", USER_ID, () -> loadItem(itemLoads));
+        bookingClient.updateBookingStatus(USER_ID, 5L, true);
+        responseCache.get("/items/3", USER_ID, () -> loadItem(itemLoads));
+
+        assertThat(itemLoads).hasValue(2);
+        server.getServer().verify();
+    }
+
+    @Test
+    void shouldForwardOwnerPagingAndPassNextCursorThrough() throws Exception {
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.set("X-Next-Cursor", "c2");
+        server.getServer().expect(requestTo(SERVER_URL + "/bookings/owner?state=PAST&from=0&size=2&cursor=c1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[{\"id\":5},{\"id\":4}]", MediaType.APPLICATION_JSON)
+                        .headers(upstreamHeaders));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        bookingClient.streamBookingsByOwnerId(USER_ID, BookingState.PAST, 0, 2, "c1", response);
+
+        assertThat(response.getHeader("X-Next-Cursor")).isEqualTo("c2");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("[{\"id\":5},{\"id\":4}]");
+        server.getServer().verify();
+    }
+
+    @Test
+    void shouldOmitCursorForOffsetPaging() {
+        server.getServer().expect(requestTo(SERVER_URL + "/bookings?state=ALL&from=20&size=10"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        bookingClient.streamBookingsByBookerId(USER_ID, BookingState.ALL, 20, 10, null, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        server.getServer().verify();
+    }
+
+    private static ResponseEntity<Object> loadItem(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return ResponseEntity.ok("{\"id\":3}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.constant.Headers.USER_ID_HEADER_NAME;
+
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shareit-server.rate-limit.enabled=false")
+class ReactiveBookingControllerTest {
+
+    private static final String BOOKINGS = "[{\"id\":1,\"status\":\"WAITING\"},{\"id\":2,\"status\":\"APPROVED\"}]";
+
+    private static final HttpServer stubServer = startStubServer();
+    private static final List<ReceivedRequest> received = new CopyOnWriteArrayList<>();
+    private static final AtomicReference<StubResponse> nextResponse = new AtomicReference<>();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ConnectionProvider upstreamConnectionProvider;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + stubServer.getAddress().getPort());
+        registry.add("shareit-server.http-client.max-total", () -> "7");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubServer.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        received.clear();
+        nextResponse.set(new StubResponse(200, Map.of(HttpHeaders.ETAG, "W/\"v1\""), BOOKINGS, 0));
+    }
+
+    @Test
+    void shouldForwardBookingListToServerAndPassResponseThrough() {
+        webTestClient.get().uri("/bookings?state=current&size=2")
+                .header(USER_ID_HEADER_NAME, "5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"v1\"")
+                .expectBody(String.class).isEqualTo(BOOKINGS);
+
+        ReceivedRequest request = received.getFirst();
+        assertThat(request.method()).isEqualTo("GET");
+        assertThat(request.uri()).isEqualTo("/bookings?state=CURRENT&from=0&size=2");
+        assertThat(request.headers().getFirst(USER_ID_HEADER_NAME)).isEqualTo("5");
+    }
+
+    @Test
+    void shouldPassServerErrorBodyThrough() {
+        String notFound = "{\"error\":\"Ресурс не найден\",\"description\":\"Бронирование с id=9 не найдено\"}";
+        nextResponse.set(new StubResponse(404, Map.of(), notFound, 0));
+
+        webTestClient.get().uri("/bookings/9")
+                .header(USER_ID_HEADER_NAME, "5")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo(notFound);
+    }
+
+    @Test
+    void shouldSendValidBookingToServer() {
+        nextResponse.set(new StubResponse(201, Map.of(), "{\"id\":4}", 0));
+        String booking = "{\"itemId\":1,\"start\":\"2100-01-01T10:00:00\",\"end\":\"2100-01-02T10:00:00\"}";
+
+        webTestClient.post().uri("/bookings")
+                .header(USER_ID_HEADER_NAME, "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(booking)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(String.class).isEqualTo("{\"id\":4}");
+
+        ReceivedRequest request = received.getFirst();
+        assertThat(request.method()).isEqualTo("POST");
+        assertThat(request.body()).contains("\"itemId\":1");
+    }
+
+    @Test
+    void shouldRejectInvalidRequestsWithoutCallingServer() {
+        webTestClient.post().uri("/bookings")
+                .header(USER_ID_HEADER_NAME, "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemId\":1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Ошибка валидации тела запроса");
+
+        webTestClient.get().uri("/bookings?state=unknown")
+                .header(USER_ID_HEADER_NAME, "5")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.description").isEqualTo("Неверный state: unknown");
+
+        webTestClient.get().uri("/bookings?size=0")
+                .header(USER_ID_HEADER_NAME, "5")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/bookings/1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.description").value(description ->
+                        assertThat((String) description).contains(USER_ID_HEADER_NAME));
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void shouldLimitUpstreamConnectionsBySharedHttpClientSettings() {
+        assertThat(upstreamConnectionProvider.maxConnections()).isEqualTo(7);
+    }
+
+    private static HttpServer startStubServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", ReactiveBookingControllerTest::respond);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        exchange.getRequestHeaders().forEach(headers::addAll);
+        received.add(new ReceivedRequest(exchange.getRequestMethod(), exchange.getRequestURI().toString(), headers,
+                new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+
+        StubResponse response = nextResponse.get();
+        if (response.delayMillis() > 0) {
+            try {
+                Thread.sleep(response.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        response.headers().forEach(exchange.getResponseHeaders()::add);
+        if (body.length > 0) {
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        exchange.sendResponseHeaders(response.status(), body.length > 0 ? body.length : -1);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(body);
+        }
+    }
+
+    private record ReceivedRequest(String method, String uri, HttpHeaders headers, String body) {
+    }
+
+    private record StubResponse(int status, Map<String, String> headers, String body, long delayMillis) {
+    }
+}
@@ -0,0 +1,296 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.resilience.UpstreamGuard;
+import ru.practicum.shareit.resilience.UpstreamGuards;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+
+    private static final String SERVER_URL = "http://shareit-server/items";
+
+    private final RestTemplate rest = new RestTemplate();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private UpstreamGuards upstreamGuards;
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).ignoreExpectOrder(true).build();
+        upstreamGuards = new UpstreamGuards(new SimpleMeterRegistry(), new MockEnvironment());
+        client = new TestClient(rest, upstreamGuards.forClient("items"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void shouldSendOneRequestForIdenticalConcurrentGets() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(1);
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/1"))
+                .andRespond(blocking(arrived, "{\"id\":1}"));
+
+        CompletableFuture<ResponseEntity<Object>> first = CompletableFuture.supplyAsync(() -> client.read("/1", 10L));
+        assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResponseEntity<Object>> secondResult = new CompletableFuture<>();
+        Thread second = Thread.ofVirtual().start(() -> secondResult.complete(client.read("/1", 10L)));
+        awaitWaiting(second);
+        release.countDown();
+
+        assertThat(text(first.get(5, TimeUnit.SECONDS))).isEqualTo("{\"id\":1}");
+        assertThat(text(secondResult.get(5, TimeUnit.SECONDS))).isEqualTo("{\"id\":1}");
+        server.verify();
+    }
+
+    @Test
+    void shouldNotCoalesceGetsOfDifferentUsersOrParameters() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(3);
+        server.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/search?text=a"))
+                .andRespond(blocking(arrived, "[]"));
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/search?text=b"))
+                .andRespond(blocking(arrived, "[]"));
+
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> client.search("a", 10L));
+        CompletableFuture<?> otherUser = CompletableFuture.runAsync(() -> client.search("a", 11L));
+        CompletableFuture<?> otherText = CompletableFuture.runAsync(() -> client.search("b", 10L));
+
+        assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        CompletableFuture.allOf(first, otherUser, otherText).get(5, TimeUnit.SECONDS);
+        server.verify();
+    }
+
+    @Test
+    void shouldPassUpstreamBytesStatusAndHeadersThrough() {
+        byte[] body = "{ \"name\" : \"Дрель\",\n  \"id\":1 }".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL))
+                .andRespond(withStatus(HttpStatus.CREATED).body(body)
+                        .contentType(MediaType.parseMediaType("application/json;charset=UTF-8"))
+                        .header(HttpHeaders.LOCATION, "/items/1")
+                        .header(HttpHeaders.CONNECTION, "keep-alive")
+                        .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length)));
+
+        ResponseEntity<Object> response = client.create(10L, Map.of("name", "Дрель"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.getHeaders().getContentType())
+                .isEqualTo(MediaType.parseMediaType("application/json;charset=UTF-8"));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LOCATION)).isEqualTo("/items/1");
+        assertThat(response.getHeaders()).doesNotContainKeys(HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH);
+        server.verify();
+    }
+
+    @Test
+    void shouldPassErrorBodyAndContentTypeThrough() {
+        byte[] body = "{\"error\":\"Конфликт\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.CONFLICT).body(body).contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+        ResponseEntity<Object> response = client.read("/1", 10L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        server.verify();
+    }
+
+    @Test
+    void shouldReturnNoBodyForEmptyUpstreamResponse() {
+        server.expect(requestTo(SERVER_URL + "/1")).andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+        ResponseEntity<Object> response = client.remove("/1", 10L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.hasBody()).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void shouldForwardIfNoneMatchAndReturnNotModifiedWithoutBody() {
+        MockHttpServletRequest incoming = new MockHttpServletRequest("GET", "/items/1");
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0abc\"");
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0abc\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"0abc\""));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        ResponseEntity<Object> response;
+        try {
+            response = client.read("/1", 10L);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0abc\"");
+        assertThat(response.hasBody()).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void shouldSendRemainingDeadlineAndRetryGetAfterServiceUnavailable() {
+        server.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/1"))
+                .andExpect(header("X-Request-Timeout", matchesPattern("\\d+")))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        ResponseEntity<Object> response = client.read("/1", 10L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        server.verify();
+    }
+
+    @Test
+    void shouldTalkSmileToServerAndAnswerClientWithJson() throws Exception {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        TestClient smileClient = new TestClient(rest, upstreamGuards.forClient("items"),
+                UpstreamCodec.smile(smileMapper));
+        server.expect(requestTo(SERVER_URL))
+                .andExpect(header("Content-Type", "application/x-jackson-smile"))
+                .andExpect(header("Accept", "application/x-jackson-smile, application/json;q=0.5"))
+                .andExpect(request -> assertThat(smileMapper.readTree(
+                        ((MockClientHttpRequest) request).getBodyAsBytes()).path("name").asText()).isEqualTo("Дрель"))
+                .andRespond(withSuccess(smileMapper.writeValueAsBytes(Map.of("id", 1, "name", "Дрель")),
+                        UpstreamCodec.APPLICATION_SMILE));
+
+        ResponseEntity<Object> response = smileClient.create(10L, Map.of("name", "Дрель"));
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new ObjectMapper().readTree((byte[]) response.getBody()))
+                .isEqualTo(new ObjectMapper().readTree("{\"id\":1,\"name\":\"Дрель\"}"));
+        server.verify();
+    }
+
+    @Test
+    void shouldStreamLargeListTranscodingSmileWithoutContentLength() throws Exception {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        List<Map<String, Object>> bookings = IntStream.range(0, 5_000)
+                .mapToObj(id -> Map.<String, Object>of("id", id, "status", "WAITING"))
+                .toList();
+        server.expect(requestTo(SERVER_URL + "/owner"))
+                .andExpect(header("X-Sharer-User-Id", "10"))
+                .andRespond(withSuccess(smileMapper.writeValueAsBytes(bookings), UpstreamCodec.APPLICATION_SMILE)
+                        .header(HttpHeaders.CONTENT_LENGTH, "1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        client.list("/owner", 10L, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(response.getBufferSize()).isEqualTo(ResponseStreamer.BUFFER_SIZE);
+        assertThat(new ObjectMapper().readTree(response.getContentAsByteArray()))
+                .isEqualTo(new ObjectMapper().valueToTree(bookings));
+        server.verify();
+    }
+
+    @Test
+    void shouldStreamUpstreamErrorWithItsStatus() throws Exception {
+        server.expect(requestTo(SERVER_URL + "/all"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"description\":\"Пользователь с id=10 не найден\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        client.list("/all", 10L, response);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("id=10 не найден");
+        server.verify();
+    }
+
+    private ResponseCreator blocking(CountDownLatch arrived, String body) {
+        return request -> {
+            arrived.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return withSuccess(body, MediaType.APPLICATION_JSON).createResponse(request);
+        };
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static String text(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest, UpstreamGuard guard) {
+            super(rest, guard);
+        }
+
+        TestClient(RestTemplate rest, UpstreamGuard guard, UpstreamCodec codec) {
+            super(rest, guard, codec);
+        }
+
+        ResponseEntity<Object> read(String path, long userId) {
+            return get(path, userId);
+        }
+
+        void list(String path, long userId, HttpServletResponse response) {
+            stream(path, userId, null, response);
+        }
+
+        ResponseEntity<Object> search(String text, long userId) {
+            return get("/search?text={text}", userId, Map.of("text", text));
+        }
+
+        ResponseEntity<Object> create(long userId, Map<String, Object> body) {
+            return post("", userId, body);
+        }
+
+        ResponseEntity<Object> remove(String path, long userId) {
+            return delete(path, userId);
+        }
+
+    }
+}
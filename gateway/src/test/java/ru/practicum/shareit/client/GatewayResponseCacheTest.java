@@ -0,0 +1,210 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayResponseCacheTest {
+
+    private static final String PATH = "/items/1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GatewayResponseCache cache;
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void shouldServeFreshEntryPerUserWithoutCallingServer() {
+        cache = newCache(Duration.ofMinutes(1), Duration.ZERO);
+        CountingLoader loader = new CountingLoader();
+
+        assertThat(text(cache.get(PATH, 1L, loader))).isEqualTo("v1");
+        assertThat(text(cache.get(PATH, 1L, loader))).isEqualTo("v1");
+        assertThat(text(cache.get(PATH, 2L, loader))).isEqualTo("v2");
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheErrorResponses() {
+        cache = newCache(Duration.ofMinutes(1), Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<Object>> notFound = () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(bytes("нет"));
+        };
+
+        cache.get(PATH, 1L, notFound);
+        cache.get(PATH, 1L, notFound);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictPathForAllUsersAndKeepOtherPaths() {
+        cache = newCache(Duration.ofMinutes(1), Duration.ZERO);
+        CountingLoader loader = new CountingLoader();
+        cache.get(PATH, 1L, loader);
+        cache.get(PATH, 2L, loader);
+        cache.get("/items/2", 1L, loader);
+
+        cache.evict(PATH);
+
+        assertThat(text(cache.get(PATH, 1L, loader))).isEqualTo("v4");
+        assertThat(text(cache.get(PATH, 2L, loader))).isEqualTo("v5");
+        assertThat(text(cache.get("/items/2", 1L, loader))).isEqualTo("v3");
+    }
+
+    @Test
+    void shouldNotStoreResponseLoadedBeforeConcurrentEviction() throws Exception {
+        cache = newCache(Duration.ofMinutes(1), Duration.ZERO);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Object>> slowRead = CompletableFuture.supplyAsync(
+                () -> cache.get(PATH, 1L, () -> {
+                    loading.countDown();
+                    await(evicted);
+                    return ResponseEntity.ok(bytes("до изменения"));
+                }));
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evict(PATH);
+        evicted.countDown();
+
+        assertThat(text(slowRead.get(5, TimeUnit.SECONDS))).isEqualTo("до изменения");
+        assertThat(text(cache.get(PATH, 1L, () -> ResponseEntity.ok(bytes("после изменения")))))
+                .isEqualTo("после изменения");
+    }
+
+    @Test
+    void shouldStoreResponseOfOtherPathLoadedDuringEviction() throws Exception {
+        cache = newCache(Duration.ofMinutes(1), Duration.ZERO);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<Object>> slowLoader = () -> {
+            calls.incrementAndGet();
+            loading.countDown();
+            await(evicted);
+            return ResponseEntity.ok(bytes("другая вещь"));
+        };
+        CompletableFuture<ResponseEntity<Object>> slowRead = CompletableFuture.supplyAsync(
+                () -> cache.get("/items/2", 1L, slowLoader));
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evict(PATH);
+        evicted.countDown();
+        slowRead.get(5, TimeUnit.SECONDS);
+
+        assertThat(text(cache.get("/items/2", 1L, slowLoader))).isEqualTo("другая вещь");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotStoreResponseLoadedBeforeEvictAll() throws Exception {
+        cache = newCache(Duration.ofMinutes(1), Duration.ZERO);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Object>> slowRead = CompletableFuture.supplyAsync(
+                () -> cache.get(PATH, 1L, () -> {
+                    loading.countDown();
+                    await(evicted);
+                    return ResponseEntity.ok(bytes("до изменения"));
+                }));
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evictAll();
+        evicted.countDown();
+        slowRead.get(5, TimeUnit.SECONDS);
+
+        assertThat(text(cache.get(PATH, 1L, () -> ResponseEntity.ok(bytes("после изменения")))))
+                .isEqualTo("после изменения");
+    }
+
+    @Test
+    void shouldServeStaleEntryAndRefreshItInBackground() throws Exception {
+        cache = newCache(Duration.ofMillis(300), Duration.ofMinutes(1));
+        CountingLoader loader = new CountingLoader();
+        cache.get(PATH, 1L, loader);
+        Thread.sleep(400);
+
+        assertThat(text(cache.get(PATH, 1L, loader))).isEqualTo("v1");
+
+        // пока идёт фоновое обновление, устаревшая запись отдаётся без новых обращений к серверу
+        String served = "v1";
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (served.equals("v1") && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            served = text(cache.get(PATH, 1L, loader));
+        }
+        assertThat(served).isEqualTo("v2");
+        assertThat(loader.calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("shareit.gateway.cache.stale").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadSynchronouslyAfterStaleWindow() throws Exception {
+        cache = newCache(Duration.ofMillis(20), Duration.ofMillis(20));
+        CountingLoader loader = new CountingLoader();
+        cache.get(PATH, 1L, loader);
+        Thread.sleep(100);
+
+        assertThat(text(cache.get(PATH, 1L, loader))).isEqualTo("v2");
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCallServerEveryTimeWhenDisabled() {
+        cache = new GatewayResponseCache(meterRegistry, false, 100, Duration.ofMinutes(1), Duration.ZERO);
+        CountingLoader loader = new CountingLoader();
+
+        cache.get(PATH, 1L, loader);
+        cache.get(PATH, 1L, loader);
+
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    private GatewayResponseCache newCache(Duration ttl, Duration staleWhileRevalidate) {
+        return new GatewayResponseCache(meterRegistry, true, 100, ttl, staleWhileRevalidate);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class CountingLoader implements Supplier<ResponseEntity<Object>> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ResponseEntity<Object> get() {
+            return ResponseEntity.ok(bytes("v" + calls.incrementAndGet()));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.config.UpstreamHttpClientConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedConnectionManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamHttpClientConfig config = new UpstreamHttpClientConfig();
+    private final Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+    private InstrumentedConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            clientAddresses.add(exchange.getRemoteAddress());
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        connectionManager = config.upstreamConnectionManager(meterRegistry, 2, 1, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReuseOneConnectionForSequentialRequests() throws IOException {
+        try (CloseableHttpClient httpClient = config.upstreamHttpClient(connectionManager, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(15), Duration.ofSeconds(10))) {
+            RestTemplate rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(rest.getForObject(url(), String.class)).isEqualTo("{\"id\":1}");
+            }
+
+            assertThat(clientAddresses).hasSize(1);
+            assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+            assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+            assertThat(leaseTimerCount("leased")).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldRecordLeaseTimeoutWhenRouteIsExhausted() throws Exception {
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", server.getAddress().getPort()));
+        ConnectionEndpoint held = connectionManager.lease("held", route, Timeout.ofSeconds(1), null)
+                .get(Timeout.ofSeconds(1));
+
+        assertThatThrownBy(() -> connectionManager.lease("waiting", route, Timeout.ofMilliseconds(50), null)
+                .get(Timeout.ofMilliseconds(50)))
+                .isInstanceOf(TimeoutException.class);
+
+        assertThat(leaseTimerCount("leased")).isEqualTo(1);
+        assertThat(leaseTimerCount("timeout")).isEqualTo(1);
+        connectionManager.release(held, null, null);
+    }
+
+    @Test
+    void shouldBindPoolGaugesForShareitServer() {
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "shareit-server").gauge().value()).isEqualTo(1);
+    }
+
+    private long leaseTimerCount(String outcome) {
+        return meterRegistry.get("httpcomponents.httpclient.pool.lease")
+                .tag("httpclient", "shareit-server")
+                .tag("outcome", outcome)
+                .timer().count();
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/items/1";
+    }
+}
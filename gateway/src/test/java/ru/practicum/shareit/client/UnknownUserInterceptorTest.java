@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UnknownUserInterceptorTest {
+
+    private static final String SERVER_URL = "http://shareit-server";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestTemplate rest = new RestTemplate();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rest.getInterceptors().add(new UnknownUserInterceptor(meterRegistry, objectMapper, 100, Duration.ofMinutes(5)));
+        server = MockRestServiceServer.bindTo(rest).ignoreExpectOrder(true).build();
+    }
+
+    @Test
+    void shouldAnswerNotFoundForKnownUnknownUserWithoutServer() {
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/bookings"))
+                .andRespond(userNotFound(999));
+
+        assertThatThrownBy(() -> getAs(999, "/bookings"))
+                .isInstanceOfSatisfying(HttpClientErrorException.NotFound.class,
+                        e -> assertThat(e.getResponseBodyAsString()).isEqualTo(userNotFoundBody(999)));
+        for (String path : List.of("/bookings", "/items/5")) {
+            assertThatThrownBy(() -> getAs(999, path))
+                    .isInstanceOfSatisfying(HttpClientErrorException.NotFound.class, e -> {
+                        JsonNode error = readTree(e.getResponseBodyAsString());
+                        assertThat(error.path("description").asText()).isEqualTo("Пользователь с id=999 не найден");
+                        assertThat(error.path("path").asText()).isEqualTo(path);
+                        assertThat(error.path("status").asInt()).isEqualTo(404);
+                        assertThat(e.getResponseHeaders().getFirst("X-Unknown-User-Id")).isEqualTo("999");
+                    });
+        }
+
+        assertThat(meterRegistry.get("shareit.gateway.unknown-users.rejected").counter().count()).isEqualTo(2);
+        server.verify();
+    }
+
+    @Test
+    void shouldLearnFromNotFoundAnsweredInSmile() throws Exception {
+        byte[] body = new ObjectMapper(new SmileFactory()).writeValueAsBytes(
+                Map.of("error", "Ресурс не найден", "description", "Пользователь с id=42 не найден"));
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/requests"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(UpstreamCodec.APPLICATION_SMILE)
+                        .header("X-Unknown-User-Id", "42").body(body));
+
+        assertThatThrownBy(() -> getAs(42, "/requests")).isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThatThrownBy(() -> getAs(42, "/requests")).isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        assertThat(meterRegistry.get("shareit.gateway.unknown-users.rejected").counter().count()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void shouldNotLearnFromOtherNotFoundResponses() {
+        server.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/items/5"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"Ресурс не найден\",\"description\":\"Вещь с id=5 не найдена\"}"));
+        server.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/users/2")).andRespond(userNotFound(2));
+        server.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/requests/3"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body(userNotFoundBody(1)));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> getAs(1, "/items/5")).isInstanceOf(HttpClientErrorException.NotFound.class);
+            assertThatThrownBy(() -> getAs(1, "/users/2")).isInstanceOf(HttpClientErrorException.NotFound.class);
+            assertThatThrownBy(() -> getAs(1, "/requests/3")).isInstanceOf(HttpClientErrorException.NotFound.class);
+        }
+        server.verify();
+    }
+
+    @Test
+    void shouldForgetUserIdOnceSuchUserIsCreated() {
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items")).andRespond(userNotFound(7));
+        server.expect(method(HttpMethod.POST)).andRespond(withStatus(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_JSON).body("{\"id\":7,\"name\":\"Иван\"}"));
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> getAs(7, "/items")).isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThatThrownBy(() -> getAs(7, "/items")).isInstanceOf(HttpClientErrorException.NotFound.class);
+        ResponseEntity<String> created = rest.postForEntity(SERVER_URL + "/users", "{\"name\":\"Иван\"}", String.class);
+
+        assertThat(created.getBody()).contains("\"id\":7");
+        assertThat(getAs(7, "/items").getBody()).isEqualTo("[]");
+        server.verify();
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseEntity<String> getAs(long userId, String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return rest.exchange(SERVER_URL + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private static ResponseCreator userNotFound(long userId) {
+        return withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                .header("X-Unknown-User-Id", String.valueOf(userId))
+                .body(userNotFoundBody(userId));
+    }
+
+    private static String userNotFoundBody(long userId) {
+        return "{\"error\":\"Ресурс не найден\",\"description\":\"Пользователь с id=" + userId
+                + " не найден\",\"path\":\"/bookings\",\"status\":404}";
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UpstreamConcurrencyLimiterTest {
+
+    private static final String URL = "http://shareit-server/items/1";
+
+    private final UpstreamConcurrencyLimiter limiter = new UpstreamConcurrencyLimiter(1, Duration.ZERO);
+
+    @Test
+    void shouldReleasePermitOnceResponseIsReadAndClosed() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(ExpectedCount.twice(), requestTo(URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        assertThat(rest.getForObject(URL, String.class)).isEqualTo("{\"id\":1}");
+        assertThat(rest.getForObject(URL, String.class)).isEqualTo("{\"id\":1}");
+
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void shouldHoldPermitUntilResponseIsClosed() throws IOException {
+        ClientHttpResponse upstream = new MockClientHttpResponse("{\"id\":1}".getBytes(StandardCharsets.UTF_8),
+                HttpStatus.OK);
+        ClientHttpResponse response = limiter.intercept(new MockClientHttpRequest(HttpMethod.GET, URL), new byte[0],
+                (request, body) -> upstream);
+
+        assertThat(limiter.availablePermits()).isZero();
+        assertThat(response.getBody().readAllBytes()).isEqualTo("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        assertThat(limiter.availablePermits()).isZero();
+
+        response.close();
+        response.close();
+
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermitAfterErrorResponse() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThatThrownBy(() -> rest.getForObject(URL, String.class))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void shouldReleasePermitWhenRequestFails() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(URL)).andRespond(withException(new IOException("Connection refused")));
+
+        assertThatThrownBy(() -> rest.getForObject(URL, String.class))
+                .isInstanceOf(ResourceAccessException.class);
+
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+        server.verify();
+    }
+
+    private RestTemplate restTemplate() {
+        RestTemplate rest = new RestTemplate();
+        rest.getInterceptors().add(limiter);
+        return rest;
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.UpstreamCodec;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.dto.UpdateItemRequestDto;
+import ru.practicum.shareit.request.client.ItemRequestClient;
+import ru.practicum.shareit.resilience.UpstreamGuards;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ItemClientTest {
+
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final long USER_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockServerRestTemplateCustomizer itemServer = new MockServerRestTemplateCustomizer();
+    private final MockServerRestTemplateCustomizer requestServer = new MockServerRestTemplateCustomizer();
+
+    private GatewayResponseCache responseCache;
+    private UpstreamGuards upstreamGuards;
+    private ItemClient itemClient;
+    private ItemRequestClient itemRequestClient;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new GatewayResponseCache(meterRegistry, true, 100, Duration.ofMinutes(1),
+                Duration.ofMinutes(1));
+        upstreamGuards = new UpstreamGuards(meterRegistry, new MockEnvironment());
+        itemClient = new ItemClient(SERVER_URL, new RestTemplateBuilder(itemServer),
+                new SimpleClientHttpRequestFactory(), responseCache, upstreamGuards, new ObjectMapper(),
+                UpstreamCodec.json());
+        itemRequestClient = new ItemRequestClient(SERVER_URL, new RestTemplateBuilder(requestServer),
+                new SimpleClientHttpRequestFactory(), responseCache, upstreamGuards, UpstreamCodec.json());
+    }
+
+    @AfterEach
+    void tearDown() {
+        responseCache.close();
+    }
+
+    @Test
+    void shouldEvictCachedRequestViewWhenLinkedItemIsUpdated() {
+        MockRestServiceServer requests = requestServer.getServer();
+        requests.expect(requestTo(SERVER_URL + "/requests/7")).andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(requestView("Дрель"), MediaType.APPLICATION_JSON));
+        requests.expect(requestTo(SERVER_URL + "/requests/7")).andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(requestView("Дрель ударная"), MediaType.APPLICATION_JSON));
+        itemServer.getServer().expect(requestTo(SERVER_URL + "/items/3")).andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":3,\"name\":\"Дрель ударная\",\"available\":true,\"requestId\":7}",
+                        MediaType.APPLICATION_JSON));
+
+        assertThat(body(itemRequestClient.getItemRequestById(USER_ID, 7L).getBody())).contains("\"Дрель\"");
+        assertThat(body(itemRequestClient.getItemRequestById(USER_ID, 7L).getBody())).contains("\"Дрель\"");
+
+        itemClient.updateItem(USER_ID, 3L, UpdateItemRequestDto.builder().name("Дрель ударная").build());
+
+        assertThat(body(itemRequestClient.getItemRequestById(USER_ID, 7L).getBody())).contains("Дрель ударная");
+        requests.verify();
+        itemServer.getServer().verify();
+    }
+
+    @Test
+    void shouldForwardSearchCursorAndPassNextCursorThrough() {
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.set("X-Next-Cursor", "c2");
+        itemServer.getServer().expect(requestTo(SERVER_URL + "/items/search?text=drill&from=0&size=2&cursor=c1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[{\"id\":3},{\"id\":8}]", MediaType.APPLICATION_JSON)
+                        .headers(upstreamHeaders));
+        itemServer.getServer().expect(requestTo(SERVER_URL + "/items/search?text=drill&from=20&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> page = itemClient.search(USER_ID, "drill", 0, 2, "c1");
+        ResponseEntity<Object> offsetPage = itemClient.search(USER_ID, "drill", 20, 10, null);
+
+        assertThat(page.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("c2");
+        assertThat(body(page.getBody())).isEqualTo("[{\"id\":3},{\"id\":8}]");
+        assertThat(offsetPage.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+        itemServer.getServer().verify();
+    }
+
+    private static String requestView(String itemName) {
+        return "{\"id\":7,\"description\":\"Нужна дрель\",\"items\":[{\"id\":3,\"name\":\"" + itemName + "\"}]}";
+    }
+
+    private static String body(Object body) {
+        return new String((byte[]) body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RouteMetricsFilter filter = new RouteMetricsFilter(meterRegistry);
+
+    @Test
+    void shouldSplitRouteTimeIntoUpstreamAndLocalAndCountSizesAndStatus() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items/5/comment");
+        request.setContent("{\"text\":\"ok\"}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}/comment");
+                req.getInputStream().readAllBytes();
+                RouteTimings timings = (RouteTimings) req.getAttribute(RouteTimings.ATTRIBUTE);
+                RouteTimings.callBound(timings, () -> {
+                    RouteTimings.recordLease(TimeUnit.MILLISECONDS.toNanos(2));
+                    return null;
+                });
+                timings.addUpstream(TimeUnit.MILLISECONDS.toNanos(30));
+                sleep(40);
+                resp.setStatus(201);
+                resp.getWriter().write("{\"id\":1}");
+            }
+        }));
+
+        assertThat(timer("duration").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(40);
+        assertThat(timer("upstream").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(30);
+        assertThat(timer("local").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+        assertThat(timer("lease").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2);
+        assertThat(summary("request.size")).isEqualTo(13);
+        assertThat(summary("response.size")).isEqualTo(8);
+        assertThat(meterRegistry.get("shareit.gateway.route.responses")
+                .tags("route", "/items/{itemId}/comment", "status", "201").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagRequestsWithoutHandlerAsUnknownAndSkipActuator() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), response, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertThat(meterRegistry.get("shareit.gateway.route.responses")
+                .tags("method", "GET", "route", "UNKNOWN", "status", "404").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("shareit.gateway.route.duration").timers()).hasSize(1);
+    }
+
+    @Test
+    void shouldShareRouteTimersAcrossStatusesAndCountEachStatus() throws Exception {
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        notFound.setStatus(404);
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), notFound, new MockFilterChain());
+
+        assertThat(meterRegistry.find("shareit.gateway.route.duration").timers()).hasSize(1);
+        assertThat(meterRegistry.get("shareit.gateway.route.duration").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("shareit.gateway.route.responses").tags("status", "200").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("shareit.gateway.route.responses").tags("status", "404").counter().count())
+                .isEqualTo(1);
+    }
+
+    private Timer timer(String name) {
+        return meterRegistry.get("shareit.gateway.route." + name).tags("method", "POST").timer();
+    }
+
+    private double summary(String name) {
+        return meterRegistry.get("shareit.gateway.route." + name).summary().totalAmount();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstUpToCapacityAndReportWaitForNextToken() {
+        TokenBucket bucket = new TokenBucket(new BucketLimits(3, 2), 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryConsume(SECOND / 4)).isEqualTo(SECOND / 4);
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRateUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(new BucketLimits(2, 1), 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND)).isZero();
+        assertThat(bucket.tryConsume(SECOND)).isPositive();
+
+        long afterLongIdle = 100 * SECOND;
+        assertThat(bucket.tryConsume(afterLongIdle)).isZero();
+        assertThat(bucket.tryConsume(afterLongIdle)).isZero();
+        assertThat(bucket.tryConsume(afterLongIdle)).isPositive();
+    }
+
+    @Test
+    void shouldIgnoreClockReadingsOlderThanLastRefill() {
+        TokenBucket bucket = new TokenBucket(new BucketLimits(1, 1), SECOND);
+        assertThat(bucket.tryConsume(SECOND)).isZero();
+
+        // поток, прочитавший время раньше, не должен вернуть корзине уже выданные токены
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+        assertThat(bucket.tryConsume(2 * SECOND)).isZero();
+    }
+}
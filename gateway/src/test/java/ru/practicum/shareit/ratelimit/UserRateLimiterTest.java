@@ -0,0 +1,97 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.ErrorHandler;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldKeepSeparateBucketsPerUserAndRouteClass() {
+        UserRateLimiter limiter = limiter(1, 0.5);
+
+        assertThat(limiter.tryAcquire(1L, RouteClass.SEARCH)).isZero();
+        assertThat(limiter.tryAcquire(1L, RouteClass.READ)).isZero();
+        assertThat(limiter.tryAcquire(2L, RouteClass.SEARCH)).isZero();
+
+        assertThat(limiter.tryAcquire(1L, RouteClass.SEARCH)).isPositive();
+        assertThat(limiter.trackedBuckets()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRoundRetryAfterUpToWholeSeconds() throws Exception {
+        MockMvc slow = mockMvc(limiter(1, 0.5));
+        MockMvc fast = mockMvc(limiter(1, 10));
+
+        slow.perform(get("/ping").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+        slow.perform(get("/ping").header("X-Sharer-User-Id", 1))
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        fast.perform(get("/ping").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+        fast.perform(get("/ping").header("X-Sharer-User-Id", 1))
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void shouldClassifyRoutes() {
+        assertThat(RouteClass.of("GET", "/items/search")).isEqualTo(RouteClass.SEARCH);
+        assertThat(RouteClass.of("GET", "/items/1")).isEqualTo(RouteClass.READ);
+        assertThat(RouteClass.of("PATCH", "/items/1")).isEqualTo(RouteClass.WRITE);
+        assertThat(RouteClass.of("POST", "/items/search")).isEqualTo(RouteClass.WRITE);
+    }
+
+    @Test
+    void shouldAnswerTooManyRequestsWithRetryAfter() throws Exception {
+        MockMvc mvc = mockMvc(limiter(1, 0.25));
+
+        mvc.perform(get("/ping").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+        mvc.perform(get("/ping").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "4"));
+        mvc.perform(get("/ping").header("X-Sharer-User-Id", 2)).andExpect(status().isOk());
+        mvc.perform(get("/ping")).andExpect(status().isOk());
+        mvc.perform(get("/ping")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("shareit.gateway.ratelimit.throttled").tag("route", "read").counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.gateway.ratelimit.throttled").tag("route", "search").counter()
+                .count()).isZero();
+    }
+
+    private MockMvc mockMvc(UserRateLimiter limiter) {
+        return MockMvcBuilders.standaloneSetup(new PingController())
+                .addInterceptors(new RateLimitInterceptor(limiter, meterRegistry))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    private UserRateLimiter limiter(int capacity, double refillPerSecond) {
+        BucketLimits limits = new BucketLimits(capacity, refillPerSecond);
+        return new UserRateLimiter(
+                Map.of(RouteClass.SEARCH, limits, RouteClass.READ, limits, RouteClass.WRITE, limits),
+                100, Duration.ofMinutes(1));
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping("/ping")
+        String ping() {
+            return "pong";
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    @Test
+    void shouldRejectCallsOverLimitUntilPermitIsReleased() {
+        Bulkhead bulkhead = new Bulkhead(2, Duration.ZERO);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.availablePermits()).isZero();
+
+        bulkhead.release();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldWaitForPermitUpToMaxWait() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, Duration.ofSeconds(5));
+        assertThat(bulkhead.tryAcquire()).isTrue();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(bulkhead::tryAcquire);
+        Thread.sleep(50);
+        assertThat(waiting).isNotDone();
+        bulkhead.release();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    void shouldAllowRetriesOnlyInProportionToRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 0, 2);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.onRequest();
+        assertThat(budget.tryWithdraw()).isFalse();
+        budget.onRequest();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void shouldNotAccumulateMoreThanMaxTokens() {
+        RetryBudget budget = new RetryBudget(1, 0, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertThat(budget.availableTokens()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRefillMinimumRateOverTime() throws Exception {
+        RetryBudget budget = new RetryBudget(0, 100, 1);
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        Thread.sleep(30);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+}
@@ -0,0 +1,192 @@
+package ru.practicum.shareit.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("shareit-server.resilience.window-size", "2")
+            .withProperty("shareit-server.resilience.minimum-calls", "2")
+            .withProperty("shareit-server.resilience.failure-rate-threshold", "0.5")
+            .withProperty("shareit-server.resilience.open-duration", "1m")
+            .withProperty("shareit-server.resilience.slow-call-threshold", "100ms")
+            .withProperty("shareit-server.resilience.max-concurrent-calls", "1");
+
+    private UpstreamGuards guards;
+
+    @BeforeEach
+    void setUp() {
+        environment.setConversionService(new ApplicationConversionService());
+    }
+
+    @Test
+    void shouldRejectCallOverBulkheadLimitWithoutCallingServer() throws Exception {
+        UpstreamGuard guard = guard();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Object>> running = CompletableFuture.supplyAsync(() -> guard.execute(() -> {
+            started.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> guard.execute(() -> ResponseEntity.ok().build()))
+                .isInstanceOf(ServiceUnavailableException.class);
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertThat(guard.getBulkhead().availablePermits()).isEqualTo(1);
+        assertThat(rejected("bulkhead")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOpenOnServerErrorsAndRejectFurtherCalls() {
+        UpstreamGuard guard = guard();
+
+        guard.execute(() -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        assertThatThrownBy(() -> guard.execute(() -> {
+            throw new ResourceAccessException("Connection refused");
+        })).isInstanceOf(ResourceAccessException.class);
+
+        assertThat(guard.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.execute(() -> ResponseEntity.ok().build()))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(rejected("circuit-open")).isEqualTo(1);
+        assertThat(guard.getBulkhead().availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountSlowCallsAsFailuresAndIgnoreClientErrors() {
+        UpstreamGuard guard = guard();
+
+        guard.execute(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        guard.execute(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        assertThat(guard.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        guard.execute(() -> {
+            sleep(150);
+            return ResponseEntity.ok().build();
+        });
+        assertThat(guard.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldHedgeGetSlowerThanPercentileAndReturnFirstAnswer() {
+        UpstreamGuard guard = idempotentGuard("10s");
+        guard.executeIdempotent(guard.newDeadlineNanos(), () -> ResponseEntity.ok().build());
+        guard.executeIdempotent(guard.newDeadlineNanos(), () -> ResponseEntity.ok().build());
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseEntity<Object> response = guard.executeIdempotent(guard.newDeadlineNanos(), () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(300);
+                return ResponseEntity.ok("primary");
+            }
+            return ResponseEntity.ok("hedge");
+        });
+
+        assertThat(response.getBody()).isEqualTo("hedge");
+        assertThat(extraAttempts("hedge")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryServerErrorOnlyWhileBudgetLasts() {
+        UpstreamGuard guard = idempotentGuard("10s");
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseEntity<Object> retried = guard.executeIdempotent(guard.newDeadlineNanos(), () ->
+                attempts.incrementAndGet() == 1
+                        ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()
+                        : ResponseEntity.ok().build());
+        ResponseEntity<Object> exhausted = guard.executeIdempotent(guard.newDeadlineNanos(), () -> {
+            attempts.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        });
+
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exhausted.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(attempts).hasValue(3);
+        assertThat(extraAttempts("retry")).isEqualTo(1);
+        assertThat(extraAttempts("budget-exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRetryAfterDeadline() {
+        UpstreamGuard guard = idempotentGuard("50ms");
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.executeIdempotent(guard.newDeadlineNanos(), () -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            throw new ResourceAccessException("Read timed out");
+        })).isInstanceOf(ResourceAccessException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    private UpstreamGuard guard() {
+        guards = new UpstreamGuards(meterRegistry, environment);
+        return guards.forClient("items");
+    }
+
+    // бюджет в один повтор без пополнения, чтобы хедж или повтор были видны по счётчикам
+    private UpstreamGuard idempotentGuard(String deadline) {
+        MockEnvironment idempotentEnvironment = new MockEnvironment()
+                .withProperty("shareit-server.resilience.window-size", "10")
+                .withProperty("shareit-server.resilience.minimum-calls", "10")
+                .withProperty("shareit-server.resilience.max-concurrent-calls", "2")
+                .withProperty("shareit-server.resilience.deadline", deadline)
+                .withProperty("shareit-server.resilience.hedging.min-delay", "20ms")
+                .withProperty("shareit-server.resilience.hedging.window-size", "4")
+                .withProperty("shareit-server.resilience.hedging.minimum-samples", "2")
+                .withProperty("shareit-server.resilience.retry-budget.ratio", "0")
+                .withProperty("shareit-server.resilience.retry-budget.min-per-second", "0")
+                .withProperty("shareit-server.resilience.retry-budget.max-tokens", "1");
+        idempotentEnvironment.setConversionService(new ApplicationConversionService());
+        guards = new UpstreamGuards(meterRegistry, idempotentEnvironment);
+        return guards.forClient("items");
+    }
+
+    private double extraAttempts(String kind) {
+        return meterRegistry.get("shareit.gateway.upstream.extra-attempts").tag("client", "items").tag("kind", kind)
+                .counter().count();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("shareit.gateway.upstream.rejected").tag("client", "items").tag("reason", reason)
+                .counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class TracingInterceptorTest {
+
+    private final SpanRecorder recorder = new SpanRecorder(100);
+    private final Tracer tracer = new Tracer(recorder, "shareit-gateway", 1.0);
+    private final RestTemplate rest = new RestTemplate();
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rest.getInterceptors().add(new TracingInterceptor(tracer));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    void shouldPropagateClientSpanAsParentOfServerSpan() {
+        Span root = tracer.startRootSpan("GET /bookings/{bookingId}", "SERVER", null);
+        server.expect(requestTo("http://localhost:9090/bookings/1"))
+                .andExpect(request -> {
+                    SpanContext context = SpanContext.parse(traceparent(request));
+                    assertThat(context).isNotNull();
+                    assertThat(context.traceId()).isEqualTo(root.context().traceId());
+                    assertThat(context.spanId()).isNotEqualTo(root.context().spanId());
+                    assertThat(context.sampled()).isTrue();
+                })
+                .andRespond(withSuccess());
+
+        try (Tracer.Scope ignored = root.makeCurrent()) {
+            rest.getForObject("http://localhost:9090/bookings/1", String.class);
+        }
+        root.end();
+
+        List<RecordedSpan> trace = recorder.findByTraceId(root.context().traceId());
+        assertThat(trace).extracting(RecordedSpan::kind).containsExactlyInAnyOrder("SERVER", "CLIENT");
+        RecordedSpan client = trace.stream().filter(span -> span.kind().equals("CLIENT")).findFirst().orElseThrow();
+        assertThat(client.parentSpanId()).isEqualTo(root.context().spanId());
+        assertThat(client.name()).isEqualTo("GET /bookings/1");
+        assertThat(client.attributes()).containsEntry("http.status", "200");
+        server.verify();
+    }
+
+    @Test
+    void shouldCarryParentSpanIntoAnotherThread() {
+        Span root = tracer.startRootSpan("GET /items", "SERVER", null);
+        server.expect(requestTo("http://localhost:9090/items"))
+                .andExpect(request -> assertThat(traceparent(request)).contains(root.context().traceId()))
+                .andRespond(withSuccess());
+
+        CompletableFuture.supplyAsync(() -> Tracer.callInSpan(root,
+                () -> rest.getForObject("http://localhost:9090/items", String.class))).join();
+
+        assertThat(recorder.findByTraceId(root.context().traceId())).singleElement()
+                .satisfies(span -> assertThat(span.kind()).isEqualTo("CLIENT"));
+        assertThat(Tracer.currentSpan()).isNull();
+    }
+
+    @Test
+    void shouldNotCreateSpanOutsideIncomingRequest() {
+        server.expect(requestTo("http://localhost:9090/users"))
+                .andExpect(headerDoesNotExist("traceparent"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThatThrownBy(() -> rest.getForObject("http://localhost:9090/users", String.class))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(recorder.recent(10)).isEmpty();
+    }
+
+    @Test
+    void shouldPropagateUnsampledDecisionWithoutRecording() {
+        Span root = tracer.startRootSpan("GET /items", "SERVER",
+                SpanContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00"));
+        server.expect(requestTo("http://localhost:9090/items"))
+                .andExpect(request -> assertThat(traceparent(request)).endsWith("-00"))
+                .andRespond(withSuccess());
+
+        try (Tracer.Scope ignored = root.makeCurrent()) {
+            rest.getForObject("http://localhost:9090/items", String.class);
+        }
+        root.end();
+
+        assertThat(recorder.recent(10)).isEmpty();
+    }
+
+    private static String traceparent(ClientHttpRequest request) {
+        return request.getHeaders().getFirst(SpanContext.TRACEPARENT_HEADER_NAME);
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,6 +17,7 @@ import ru.practicum.shareit.booking.dto.request.NewBookingRequestDto;
 import ru.practicum.shareit.booking.dto.response.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageParams;
 
 import java.util.List;
 
@@ -29,15 +31,25 @@ public class BookingController {
     private final BookingService bookingService;
 
     @GetMapping
-    public List<BookingResponseDto> getBookingsByBookerId(@RequestHeader(USER_ID_HEADER_NAME) Long bookerId,
-                                                          @RequestParam BookingState state) {
-        return bookingService.getBookingsByBookerId(bookerId, state);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByBookerId(
+            @RequestHeader(USER_ID_HEADER_NAME) Long bookerId,
+            @RequestParam BookingState state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return bookingService.getBookingsByBookerId(bookerId, state, PageParams.of(from, size, cursor))
+                .toResponseEntity();
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingsByOwnerId(@RequestHeader(USER_ID_HEADER_NAME) Long ownerId,
-                                                         @RequestParam BookingState state) {
-        return bookingService.getBookingsByOwnerId(ownerId, state);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByOwnerId(
+            @RequestHeader(USER_ID_HEADER_NAME) Long ownerId,
+            @RequestParam BookingState state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return bookingService.getBookingsByOwnerId(ownerId, state, PageParams.of(from, size, cursor))
+                .toResponseEntity();
     }
 
     @GetMapping("/{bookingId}")
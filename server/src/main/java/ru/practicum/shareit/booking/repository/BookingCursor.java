@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.pagination.Cursors;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// ключ keyset-пагинации: списки бронирований упорядочены по (start, id) по убыванию
+public record BookingCursor(LocalDateTime start, long id) {
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String cursor) {
+        String[] parts = Cursors.decode(cursor, 2);
+        try {
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw Cursors.invalid(cursor);
+        }
+    }
+
+    public String encode() {
+        return Cursors.encode(start.toString(), String.valueOf(id));
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingPageRepository {
+
+    // бронирования по убыванию (start, id) без подсчёта общего числа; при after смещение отсчитывается от курсора
+    List<Booking> findPage(Specification<Booking> filter, @Nullable BookingCursor after, int offset, int limit);
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingSpecifications {
+
+    public static Specification<Booking> ownedBy(Long ownerId) {
+        return (booking, query, cb) -> cb.equal(booking.get("item").get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> bookedBy(Long bookerId) {
+        return (booking, query, cb) -> cb.equal(booking.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> hasStatus(BookingStatus status) {
+        return (booking, query, cb) -> cb.equal(booking.get("status"), status);
+    }
+
+    public static Specification<Booking> hasStatusIn(List<BookingStatus> statuses) {
+        return (booking, query, cb) -> booking.get("status").in(statuses);
+    }
+
+    public static Specification<Booking> currentAt(LocalDateTime now) {
+        return (booking, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(booking.get("start"), now),
+                cb.greaterThanOrEqualTo(booking.get("end"), now));
+    }
+
+    public static Specification<Booking> startsAfter(LocalDateTime now) {
+        return (booking, query, cb) -> cb.greaterThan(booking.get("start"), now);
+    }
+
+    public static Specification<Booking> endedBefore(LocalDateTime now) {
+        return (booking, query, cb) -> cb.lessThan(booking.get("end"), now);
+    }
+}
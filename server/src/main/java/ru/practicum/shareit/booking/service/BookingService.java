@@ -3,16 +3,16 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.dto.request.NewBookingRequestDto;
 import ru.practicum.shareit.booking.dto.response.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingState;
-
-import java.util.List;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 
 public interface BookingService {
 
     BookingResponseDto createBooking(Long userId, NewBookingRequestDto newBookingDto);
 
-    List<BookingResponseDto> getBookingsByOwnerId(Long ownerId, BookingState bookingState);
+    CursorPage<BookingResponseDto> getBookingsByOwnerId(Long ownerId, BookingState bookingState, PageParams page);
 
-    List<BookingResponseDto> getBookingsByBookerId(Long bookerId, BookingState bookingState);
+    CursorPage<BookingResponseDto> getBookingsByBookerId(Long bookerId, BookingState bookingState, PageParams page);
 
     BookingResponseDto getBookingById(Long userId, Long bookingId);
 
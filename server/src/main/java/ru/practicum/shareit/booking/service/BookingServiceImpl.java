@@ -2,7 +2,7 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.request.NewBookingRequestDto;
@@ -11,11 +11,14 @@ import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingCursor;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -25,6 +28,13 @@ import java.util.List;
 import static ru.practicum.shareit.booking.model.BookingStatus.CANCELED;
 import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.currentAt;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.endedBefore;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.hasStatus;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.hasStatusIn;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.ownedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.startsAfter;
 
 @Slf4j
 @Service
@@ -58,7 +68,8 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingResponseDto> getBookingsByOwnerId(Long ownerId, BookingState bookingState) {
+    public CursorPage<BookingResponseDto> getBookingsByOwnerId(Long ownerId, BookingState bookingState,
+                                                               PageParams page) {
         log.info("Владелец с ownerId={} запросил список {} бронирований", ownerId,
                 bookingState == BookingState.ALL ? "всех" : "со статусом " + bookingState);
 
@@ -70,51 +81,39 @@ public class BookingServiceImpl implements BookingService {
         }
 
         LocalDateTime now = LocalDateTime.now();
-        Sort sortOrder = Sort.by(Sort.Direction.DESC, "start");
-        List<Booking> bookings;
-
-        switch (bookingState) {
-            case WAITING -> bookings = bookingRepository.findByItemOwnerIdAndStatus(ownerId, WAITING, sortOrder);
-            case REJECTED -> bookings = bookingRepository.findByItemOwnerIdAndStatus(ownerId, REJECTED, sortOrder);
-            case CURRENT -> bookings = bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqual(
-                    ownerId, now, now, sortOrder);
-            case FUTURE -> bookings = bookingRepository.findByItemOwnerIdAndStartAfter(ownerId, now, sortOrder);
-            case PAST -> bookings = bookingRepository.findByItemOwnerIdAndEndBefore(ownerId, now, sortOrder);
-            case ALL -> bookings = bookingRepository.findByItemOwnerId(ownerId, sortOrder);
+        Specification<Booking> stateFilter = switch (bookingState) {
+            case WAITING -> hasStatus(WAITING);
+            case REJECTED -> hasStatus(REJECTED);
+            case CURRENT -> currentAt(now);
+            case FUTURE -> startsAfter(now);
+            case PAST -> endedBefore(now);
+            case ALL -> Specification.where(null);
             default -> throw new ValidationException("Неизвестное состояние бронирования: " + bookingState);
-        }
+        };
 
-        return bookings.stream()
-                .map(bookingMapper::toBookingResponseDto)
-                .toList();
+        return findPage(ownedBy(ownerId).and(stateFilter), page);
     }
 
     @Override
-    public List<BookingResponseDto> getBookingsByBookerId(Long bookerId, BookingState bookingState) {
+    public CursorPage<BookingResponseDto> getBookingsByBookerId(Long bookerId, BookingState bookingState,
+                                                                PageParams page) {
         log.info("Арендатор с bookerId={} запросил список {} бронирований", bookerId,
                 bookingState == BookingState.ALL ? "всех" : "со статусом " + bookingState);
 
         userService.getExistingUser(bookerId);
 
         LocalDateTime now = LocalDateTime.now();
-        Sort sortOrder = Sort.by(Sort.Direction.DESC, "start");
-        List<Booking> bookings;
-
-        switch (bookingState) {
-            case WAITING -> bookings = bookingRepository.findByBookerIdAndStatus(bookerId, WAITING, sortOrder);
-            case REJECTED -> bookings = bookingRepository.findByBookerIdAndStatusIn(bookerId,
-                    List.of(REJECTED, CANCELED), sortOrder);
-            case CURRENT -> bookings = bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(
-                    bookerId, now, now, sortOrder);
-            case FUTURE -> bookings = bookingRepository.findByBookerIdAndStartAfter(bookerId, now, sortOrder);
-            case PAST -> bookings = bookingRepository.findByBookerIdAndEndBefore(bookerId, now, sortOrder);
-            case ALL -> bookings = bookingRepository.findByBookerId(bookerId, sortOrder);
+        Specification<Booking> stateFilter = switch (bookingState) {
+            case WAITING -> hasStatus(WAITING);
+            case REJECTED -> hasStatusIn(List.of(REJECTED, CANCELED));
+            case CURRENT -> currentAt(now);
+            case FUTURE -> startsAfter(now);
+            case PAST -> endedBefore(now);
+            case ALL -> Specification.where(null);
             default -> throw new ValidationException("Неизвестное состояние бронирования: " + bookingState);
-        }
+        };
 
-        return bookings.stream()
-                .map(bookingMapper::toBookingResponseDto)
-                .toList();
+        return findPage(bookedBy(bookerId).and(stateFilter), page);
     }
 
     @Override
@@ -161,6 +160,21 @@ public class BookingServiceImpl implements BookingService {
         return booking;
     }
 
+    // запрашивается на одну запись больше страницы: так признак следующей страницы получается без COUNT
+    private CursorPage<BookingResponseDto> findPage(Specification<Booking> filter, PageParams page) {
+        BookingCursor after = page.cursor() != null ? BookingCursor.decode(page.cursor()) : null;
+        int offset = after != null ? 0 : page.from();
+        List<Booking> bookings = bookingRepository.findPage(filter, after, offset, page.size() + 1);
+
+        boolean hasMore = bookings.size() > page.size();
+        List<Booking> content = hasMore ? bookings.subList(0, page.size()) : bookings;
+        String nextCursor = hasMore ? BookingCursor.of(content.getLast()).encode() : null;
+
+        return new CursorPage<>(content.stream()
+                .map(bookingMapper::toBookingResponseDto)
+                .toList(), nextCursor);
+    }
+
     private void validateDate(NewBookingRequestDto newBookingDto) {
         if (!newBookingDto.getEnd().isAfter(newBookingDto.getStart())) {
             throw new ValidationException("Некорректные даты начала и окончания бронирования");
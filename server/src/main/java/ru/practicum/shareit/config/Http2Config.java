@@ -0,0 +1,46 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// без TLS Tomcat принимает h2c и через Upgrade, и с предварительным знанием (сразу преамбула HTTP/2)
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2Config {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2ProtocolCustomizer(
+            @Value("${shareit.http2.max-concurrent-streams:200}") long maxConcurrentStreams,
+            @Value("${shareit.http2.max-concurrent-stream-execution:200}") int maxConcurrentStreamExecution,
+            @Value("${shareit.http2.initial-window-size:65535}") int initialWindowSize,
+            @Value("${shareit.http2.keep-alive-timeout:20s}") Duration keepAliveTimeout) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            Http2Protocol http2Protocol = findHttp2Protocol(connector.findUpgradeProtocols());
+            if (http2Protocol == null) {
+                http2Protocol = new Http2Protocol();
+                connector.addUpgradeProtocol(http2Protocol);
+            }
+            http2Protocol.setMaxConcurrentStreams(maxConcurrentStreams);
+            http2Protocol.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+            http2Protocol.setInitialWindowSize(initialWindowSize);
+            http2Protocol.setKeepAliveTimeout(keepAliveTimeout.toMillis());
+        });
+    }
+
+    private static Http2Protocol findHttp2Protocol(UpgradeProtocol[] upgradeProtocols) {
+        for (UpgradeProtocol upgradeProtocol : upgradeProtocols) {
+            if (upgradeProtocol instanceof Http2Protocol http2Protocol) {
+                return http2Protocol;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Smile выбирается по Accept и Content-Type, его запрашивает только gateway; остальные клиенты получают JSON
+@Configuration
+@ConditionalOnProperty(name = "shareit.smile.enabled", havingValue = "true", matchIfMissing = true)
+public class SmileConfig {
+
+    // заменяет конвертер Spring MVC по умолчанию: тот строится без настроек spring.jackson.* и пишет даты массивами,
+    // а gateway перекодирует Smile в JSON без знания типов; повтор строк (статусы, имена) кодируется ссылкой
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory).build());
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import ru.practicum.shareit.tracing.SpanRecorder;
+import ru.practicum.shareit.tracing.SpansEndpoint;
+import ru.practicum.shareit.tracing.Tracer;
+import ru.practicum.shareit.tracing.TracingBeanPostProcessor;
+import ru.practicum.shareit.tracing.TracingFilter;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public static TracingBeanPostProcessor tracingBeanPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new TracingBeanPostProcessor(tracer);
+    }
+
+    @Bean
+    public SpanRecorder spanRecorder(@Value("${shareit.tracing.buffer-size:10000}") int bufferSize) {
+        return new SpanRecorder(bufferSize);
+    }
+
+    @Bean
+    public Tracer tracer(SpanRecorder spanRecorder,
+                         @Value("${shareit.tracing.sample-rate:1.0}") double sampleRate) {
+        return new Tracer(spanRecorder, "shareit-server", sampleRate);
+    }
+
+    // раньше остальных фильтров, чтобы в корневой спан попало и время распаковки gzip, и проверка срока
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    public SpansEndpoint spansEndpoint(SpanRecorder spanRecorder) {
+        return new SpansEndpoint(spanRecorder);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.deadline;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate вызывает инспектор перед подготовкой каждого SQL-запроса: просроченный запрос не идёт в базу
+public class DeadlineStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestDeadline.checkNotExpired();
+        return sql;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.deadline;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+// срок текущего запроса, переданный gateway; без заголовка срока нет и проверки ничего не делают
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    public static void set(long deadlineNanos) {
+        DEADLINE_NANOS.set(deadlineNanos);
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isExpired() {
+        Long deadlineNanos = DEADLINE_NANOS.get();
+        return deadlineNanos != null && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public static void checkNotExpired() {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Срок запроса истёк, gateway уже не ждёт ответа");
+        }
+    }
+}
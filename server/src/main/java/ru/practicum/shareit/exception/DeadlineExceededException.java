@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
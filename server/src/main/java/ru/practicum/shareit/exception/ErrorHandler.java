@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.constant.Headers;
 
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
@@ -31,6 +33,16 @@ public class ErrorHandler {
         );
     }
 
+    // gateway узнаёт несуществующего пользователя по заголовку, а не по тексту описания
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponse handleUserNotFoundException(final UserNotFoundException exception,
+                                                     final HttpServletRequest request,
+                                                     final HttpServletResponse response) {
+        response.setHeader(Headers.UNKNOWN_USER_ID_HEADER_NAME, String.valueOf(exception.getUserId()));
+        return handleNotFoundException(exception, request);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleDuplicatedDataException(final DuplicatedDataException exception,
@@ -107,6 +119,34 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ErrorResponse handlePayloadTooLargeException(final PayloadTooLargeException exception,
+                                                        final HttpServletRequest request) {
+        log.warn("Тело запроса слишком большое: {}", exception.getMessage());
+        return new ErrorResponse(
+                "Тело запроса слишком большое",
+                exception.getMessage(),
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.PAYLOAD_TOO_LARGE.value()
+        );
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse handleDeadlineExceededException(final DeadlineExceededException exception,
+                                                         final HttpServletRequest request) {
+        log.warn("Запрос прерван по сроку: {}", exception.getMessage());
+        return new ErrorResponse(
+                "Истёк срок ожидания ответа",
+                exception.getMessage(),
+                request.getRequestURI(),
+                LocalDateTime.now(),
+                HttpStatus.GATEWAY_TIMEOUT.value()
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleUnexpectedException(final Exception exception,
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
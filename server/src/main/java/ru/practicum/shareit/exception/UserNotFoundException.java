@@ -0,0 +1,14 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UserNotFoundException extends NotFoundException {
+
+    private final long userId;
+
+    public UserNotFoundException(long userId) {
+        super(String.format("Пользователь с id=%d не найден", userId));
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.constant.Headers;
+import ru.practicum.shareit.deadline.RequestDeadline;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(Headers.REQUEST_TIMEOUT_HEADER_NAME) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long remainingMillis;
+        try {
+            remainingMillis = Long.parseLong(request.getHeader(Headers.REQUEST_TIMEOUT_HEADER_NAME).trim());
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    "Некорректный заголовок " + Headers.REQUEST_TIMEOUT_HEADER_NAME);
+            return;
+        }
+        if (remainingMillis <= 0) {
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Срок запроса истёк до начала обработки");
+            return;
+        }
+
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.List;
+import java.util.Set;
+
+// строгий ETag — хэш тела ответа; на совпавший If-None-Match уходит 304 без тела.
+// Экономит только трафик: запросы к базе и сериализация выполняются полностью, ведь ответ собирается из
+// нескольких сущностей без столбца версии, и проверить его актуальность дешевле, чем построить, нельзя
+@Component
+public class ETagFilter extends ShallowEtagHeaderFilter {
+
+    private static final List<String> POLLED_PATHS = List.of("/bookings", "/items", "/requests");
+    // списки, которые gateway передаёт клиенту потоком: хэш тела потребовал бы буферизовать их целиком
+    private static final Set<String> STREAMED_PATHS = Set.of("/bookings", "/bookings/owner", "/items", "/requests",
+            "/requests/all");
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (STREAMED_PATHS.contains(path)) {
+            return true;
+        }
+        return POLLED_PATHS.stream().noneMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,6 +19,7 @@ import ru.practicum.shareit.item.dto.request.UpdateItemRequestDto;
 import ru.practicum.shareit.item.dto.response.CommentResponseDto;
 import ru.practicum.shareit.item.dto.response.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageParams;
 
 import java.util.List;
 
@@ -36,9 +38,20 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemResponseDto> getByNameOrDescription(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
-                                                        @RequestParam(required = false) String text) {
-        return itemService.search(userId, text);
+    public ResponseEntity<List<ItemResponseDto>> getByNameOrDescription(
+            @RequestHeader(USER_ID_HEADER_NAME) Long userId,
+            @RequestParam(required = false) String text,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return itemService.search(userId, text, PageParams.of(from, size, cursor)).toResponseEntity();
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestNames(@RequestHeader(USER_ID_HEADER_NAME) Long userId,
+                                     @RequestParam(required = false) String prefix,
+                                     @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.suggest(userId, prefix, size);
     }
 
     @GetMapping("/{itemId}")
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByItemId(Long itemId);
+    // имя автора входит в ответ, поэтому автор загружается тем же запросом, а не отдельным на каждый комментарий
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id IN :itemIds ORDER BY c.id")
+    List<Comment> findWithAuthorByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 }
\ No newline at end of file
@@ -1,19 +1,22 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
 
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
 
     List<Item> findByOwnerIdOrderByIdAsc(Long ownerId);
 
-    @Query("SELECT i FROM Item i " +
-            "WHERE (i.name ILIKE %:text% OR i.description ILIKE %:text%) AND i.available = true")
-    List<Item> findByNameOrDescription(@Param("text") String text);
-
     List<Item> findByRequestId(Long requestId);
+
+    // порция для построения индексов поиска: только индексируемые поля, без управляемых сущностей
+    @Query("SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description, i.available) " +
+            "FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<IndexedItem> findIndexedItemsAfter(@Param("afterId") Long afterId, Pageable batch);
 }
\ No newline at end of file
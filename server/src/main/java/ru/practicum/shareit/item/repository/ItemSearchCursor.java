@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.pagination.Cursors;
+
+// ключ keyset-пагинации поиска: выдача упорядочена по релевантности по убыванию, затем по id по возрастанию
+public record ItemSearchCursor(int relevance, long id) {
+
+    public static ItemSearchCursor of(ItemSearchHit hit) {
+        return new ItemSearchCursor(hit.relevance(), hit.item().getId());
+    }
+
+    public static ItemSearchCursor decode(String cursor) {
+        String[] parts = Cursors.decode(cursor, 2);
+        try {
+            return new ItemSearchCursor(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw Cursors.invalid(cursor);
+        }
+    }
+
+    public String encode() {
+        return Cursors.encode(String.valueOf(relevance), String.valueOf(id));
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+// relevance: 2 — текст найден в названии, 1 — в описании, 3 — и там и там
+public record ItemSearchHit(Item item, int relevance) {
+}
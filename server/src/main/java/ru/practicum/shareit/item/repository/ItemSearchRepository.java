@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+public interface ItemSearchRepository {
+
+    // доступные вещи, содержащие текст в названии или описании, по убыванию релевантности, затем по id;
+    // after задаёт продолжение после последней вещи предыдущей страницы
+    List<ItemSearchHit> searchAvailable(String text, @Nullable ItemSearchCursor after, int offset, int limit);
+
+    // различающиеся названия доступных вещей, начинающиеся с префикса без учёта регистра, по алфавиту
+    List<String> suggestAvailableNames(String prefix, int limit);
+}
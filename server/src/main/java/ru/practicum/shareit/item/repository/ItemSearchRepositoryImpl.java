@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+// в Postgres условия ILIKE обслуживают частичные GIN-индексы pg_trgm из schema-postgresql.sql;
+// в H2 тот же запрос выполняется без них полным просмотром
+class ItemSearchRepositoryImpl implements ItemSearchRepository {
+
+    private static final char ESCAPE = '!';
+    private static final String IN_NAME = "i.name ILIKE :pattern ESCAPE '" + ESCAPE + "'";
+    private static final String IN_DESCRIPTION = "i.description ILIKE :pattern ESCAPE '" + ESCAPE + "'";
+    private static final String RELEVANCE = "(CASE WHEN " + IN_NAME + " THEN 2 ELSE 0 END"
+            + " + CASE WHEN " + IN_DESCRIPTION + " THEN 1 ELSE 0 END)";
+    private static final String SELECT = "SELECT i AS item, " + RELEVANCE + " AS relevance "
+            + "FROM Item i "
+            + "WHERE i.available = true AND (" + IN_NAME + " OR " + IN_DESCRIPTION + ") ";
+    // псевдоним из SELECT в WHERE недоступен, поэтому релевантность в условии курсора вычисляется повторно
+    private static final String AFTER_CURSOR = "AND (" + RELEVANCE + " < :afterRelevance OR ("
+            + RELEVANCE + " = :afterRelevance AND i.id > :afterId)) ";
+    private static final String ORDER_BY = "ORDER BY relevance DESC, i.id ASC";
+    private static final String NAMES_WITH_PREFIX = "SELECT DISTINCT i.name FROM Item i "
+            + "WHERE i.available = true AND " + IN_NAME + " ORDER BY i.name";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ItemSearchHit> searchAvailable(String text, @Nullable ItemSearchCursor after, int offset, int limit) {
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                SELECT + (after != null ? AFTER_CURSOR : "") + ORDER_BY, Tuple.class);
+        if (after != null) {
+            query.setParameter("afterRelevance", after.relevance())
+                    .setParameter("afterId", after.id());
+        }
+        return query.setParameter("pattern", "%" + escapeLike(text) + "%")
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> new ItemSearchHit(row.get("item", Item.class), row.get("relevance", Number.class)
+                        .intValue()))
+                .toList();
+    }
+
+    @Override
+    public List<String> suggestAvailableNames(String prefix, int limit) {
+        return entityManager.createQuery(NAMES_WITH_PREFIX, String.class)
+                .setParameter("pattern", escapeLike(prefix) + "%")
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // % и _ из запроса пользователя ищутся буквально, а не как шаблон
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (char c : text.toCharArray()) {
+            if (c == ESCAPE || c == '%' || c == '_') {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
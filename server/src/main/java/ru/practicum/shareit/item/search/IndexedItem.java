@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+// поля вещи, которые попадают в индексы поиска; снимок до изменения нужен, чтобы убрать старые термины
+public record IndexedItem(Long id, String name, String description, Boolean available) {
+
+    public static IndexedItem of(Item item) {
+        return new IndexedItem(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// подсказки по началу названия из префиксного дерева доступных вещей, без обращения к базе.
+// Как и ItemSearchIndex, видит только изменения своего процесса и по умолчанию выключен
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.suggest.enabled", havingValue = "true")
+public class ItemNameSuggester implements SmartInitializingSingleton {
+
+    // больший size молча урезается: подсказки нужны для выпадающего списка, а не для выгрузки каталога
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final int BUILD_BATCH_SIZE = 1_000;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NameTrie names = new NameTrie();
+
+    public ItemNameSuggester(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long startNanos = System.nanoTime();
+        long afterId = 0;
+        List<IndexedItem> batch;
+        do {
+            batch = itemRepository.findIndexedItemsAfter(afterId, PageRequest.ofSize(BUILD_BATCH_SIZE));
+            List<IndexedItem> items = batch;
+            write(() -> items.forEach(this::put));
+            if (!batch.isEmpty()) {
+                afterId = batch.getLast().id();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+
+        log.info("Дерево подсказок по названиям вещей построено: названий={}, за {} мс", names.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return names.complete(prefix, Math.min(limit, MAX_SUGGESTIONS));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Item item) {
+        IndexedItem added = IndexedItem.of(item);
+        write(() -> put(added));
+        IndexTransactions.undoOnRollback(() -> write(() -> remove(added)));
+    }
+
+    public void update(IndexedItem before, Item item) {
+        IndexedItem after = IndexedItem.of(item);
+        write(() -> {
+            remove(before);
+            put(after);
+        });
+        IndexTransactions.undoOnRollback(() -> write(() -> {
+            remove(after);
+            put(before);
+        }));
+    }
+
+    // в подсказки попадают только вещи, которые можно взять
+    private void put(IndexedItem item) {
+        if (Boolean.TRUE.equals(item.available())) {
+            names.add(item.name());
+        }
+    }
+
+    private void remove(IndexedItem item) {
+        if (Boolean.TRUE.equals(item.available())) {
+            names.remove(item.name());
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
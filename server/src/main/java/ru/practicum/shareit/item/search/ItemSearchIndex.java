@@ -0,0 +1,253 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchCursor;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// инвертированный индекс терминов названия и описания, термин — непрерывная последовательность букв и цифр.
+// Запрос из одного термина эквивалентен ILIKE '%text%': такая подстрока целиком лежит внутри одного термина,
+// поэтому достаточно найти в словаре термины, содержащие запрос, и объединить списки их вещей.
+// Только для одного экземпляра сервера: индекс видит лишь изменения, прошедшие через этот процесс, и отстаёт
+// от вещей, созданных и изменённых другими экземплярами, поэтому по умолчанию выключен
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.index.enabled", havingValue = "true")
+public class ItemSearchIndex implements SmartInitializingSingleton {
+
+    private static final int TRIGRAM = 3;
+    private static final int BUILD_BATCH_SIZE = 1_000;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // термины не удаляются, даже когда их списки пустеют: словарь растёт только с новыми словами
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntPostings> nameItems = new ArrayList<>();
+    private final List<IntPostings> descriptionItems = new ArrayList<>();
+    private final Map<String, IntPostings> termsByTrigram = new HashMap<>();
+    private final BitSet availableItems = new BitSet();
+
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    public record Hit(long itemId, int relevance) {
+    }
+
+    // строится до запуска веб-сервера, поэтому поиск не видит частично заполненный индекс
+    @Override
+    public void afterSingletonsInstantiated() {
+        long startNanos = System.nanoTime();
+        int indexed = 0;
+        long afterId = 0;
+        List<IndexedItem> batch;
+        do {
+            batch = itemRepository.findIndexedItemsAfter(afterId, PageRequest.ofSize(BUILD_BATCH_SIZE));
+            List<IndexedItem> items = batch;
+            write(() -> items.forEach(this::put));
+            indexed += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.getLast().id();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+
+        log.info("Индекс поиска вещей построен: вещей={}, терминов={}, за {} мс", indexed, terms.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    // запрос с пробелами или знаками препинания может пересекать границу терминов, его выполняет база
+    public static boolean canAnswer(String text) {
+        return !text.isEmpty() && text.chars().allMatch(Character::isLetterOrDigit);
+    }
+
+    // релевантность и порядок те же, что у ItemRepository.searchAvailable: название, затем описание, затем id
+    public List<Hit> search(String text, @Nullable ItemSearchCursor after, int offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            BitSet inName = new BitSet();
+            BitSet inDescription = new BitSet();
+            BitSet matchingTerms = matchingTerms(query);
+            for (int termId = matchingTerms.nextSetBit(0); termId >= 0; termId = matchingTerms.nextSetBit(termId + 1)) {
+                nameItems.get(termId).addTo(inName);
+                descriptionItems.get(termId).addTo(inDescription);
+            }
+            inName.and(availableItems);
+            inDescription.and(availableItems);
+            BitSet inBoth = (BitSet) inName.clone();
+            inBoth.and(inDescription);
+            inName.andNot(inBoth);
+            inDescription.andNot(inBoth);
+
+            List<Hit> hits = new ArrayList<>(limit);
+            int skip = offset;
+            skip = collect(inBoth, 3, after, skip, limit, hits);
+            skip = collect(inName, 2, after, skip, limit, hits);
+            collect(inDescription, 1, after, skip, limit, hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Item item) {
+        IndexedItem added = IndexedItem.of(item);
+        write(() -> put(added));
+        IndexTransactions.undoOnRollback(() -> write(() -> remove(added)));
+    }
+
+    public void update(IndexedItem before, Item item) {
+        IndexedItem after = IndexedItem.of(item);
+        write(() -> {
+            remove(before);
+            put(after);
+        });
+        IndexTransactions.undoOnRollback(() -> write(() -> {
+            remove(after);
+            put(before);
+        }));
+    }
+
+    // уровни релевантности выше курсора пропускаются целиком, в уровне курсора выдача продолжается после его id
+    private static int collect(BitSet items, int relevance, @Nullable ItemSearchCursor after, int skip, int limit,
+                               List<Hit> hits) {
+        int fromItemId = 0;
+        if (after != null && relevance > after.relevance()) {
+            return skip;
+        }
+        if (after != null && relevance == after.relevance()) {
+            fromItemId = (int) Math.min(after.id() + 1, Integer.MAX_VALUE);
+        }
+        if (fromItemId == 0) {
+            int cardinality = items.cardinality();
+            if (skip >= cardinality) {
+                return skip - cardinality;
+            }
+        }
+        for (int itemId = items.nextSetBit(fromItemId); itemId >= 0 && hits.size() < limit;
+             itemId = items.nextSetBit(itemId + 1)) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                hits.add(new Hit(itemId, relevance));
+            }
+        }
+        return skip;
+    }
+
+    // совпадение всех триграмм ещё не означает подстроку, поэтому кандидаты проверяются через contains
+    private BitSet matchingTerms(String query) {
+        BitSet matches;
+        if (query.length() < TRIGRAM) {
+            matches = new BitSet(terms.size());
+            matches.set(0, terms.size());
+        } else {
+            matches = null;
+            for (int i = 0; i + TRIGRAM <= query.length(); i++) {
+                IntPostings withTrigram = termsByTrigram.get(query.substring(i, i + TRIGRAM));
+                if (withTrigram == null) {
+                    return new BitSet();
+                }
+                if (matches == null) {
+                    matches = withTrigram.toBitSet();
+                } else {
+                    matches.and(withTrigram.toBitSet());
+                }
+            }
+        }
+        for (int termId = matches.nextSetBit(0); termId >= 0; termId = matches.nextSetBit(termId + 1)) {
+            if (!terms.get(termId).contains(query)) {
+                matches.clear(termId);
+            }
+        }
+        return matches;
+    }
+
+    private void put(IndexedItem item) {
+        int itemId = Math.toIntExact(item.id());
+        for (String term : terms(item.name())) {
+            nameItems.get(termId(term)).add(itemId);
+        }
+        for (String term : terms(item.description())) {
+            descriptionItems.get(termId(term)).add(itemId);
+        }
+        availableItems.set(itemId, Boolean.TRUE.equals(item.available()));
+    }
+
+    private void remove(IndexedItem item) {
+        int itemId = Math.toIntExact(item.id());
+        for (String term : terms(item.name())) {
+            Integer termId = termIds.get(term);
+            if (termId != null) {
+                nameItems.get(termId).remove(itemId);
+            }
+        }
+        for (String term : terms(item.description())) {
+            Integer termId = termIds.get(term);
+            if (termId != null) {
+                descriptionItems.get(termId).remove(itemId);
+            }
+        }
+        availableItems.clear(itemId);
+    }
+
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        int termId = terms.size();
+        termIds.put(term, termId);
+        terms.add(term);
+        nameItems.add(new IntPostings());
+        descriptionItems.add(new IntPostings());
+        for (int i = 0; i + TRIGRAM <= term.length(); i++) {
+            termsByTrigram.computeIfAbsent(term.substring(i, i + TRIGRAM), trigram -> new IntPostings()).add(termId);
+        }
+        return termId;
+    }
+
+    static Set<String> terms(String text) {
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        Set<String> terms = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean termChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                terms.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// сжатое префиксное дерево названий: цепочки узлов с одним потомком склеены в одно ребро, потомки лежат
+// в массивах, отсортированных по первому символу ребра. Одинаковые без учёта регистра названия хранятся
+// одним листом со счётчиком вещей по каждому написанию; в подсказке показывается самое частое написание.
+// Не потокобезопасно, синхронизацию обеспечивает ItemNameSuggester
+final class NameTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final Node root = new Node("");
+    private int names;
+
+    void add(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                node = node.insertChild(-index - 1, new Node(key.substring(position)));
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.insertChild(0, child);
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+        if (node.items++ == 0) {
+            node.spellings = new LinkedHashMap<>(2);
+            names++;
+        }
+        node.spellings.merge(name, 1, Integer::sum);
+    }
+
+    // удалённые листья вырезаются, а узел с единственным потомком склеивается с ним, чтобы дерево оставалось сжатым
+    void remove(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        path.add(node);
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0 || !key.startsWith(node.children[index].label, position)) {
+                return;
+            }
+            node = node.children[index];
+            position += node.label.length();
+            path.add(node);
+        }
+        if (node.items == 0 || !node.spellings.containsKey(name)) {
+            return;
+        }
+        node.spellings.computeIfPresent(name, (spelling, count) -> count > 1 ? count - 1 : null);
+        if (--node.items > 0) {
+            return;
+        }
+        node.spellings = null;
+        names--;
+
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (current.items > 0) {
+                return;
+            }
+            if (current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[parent.childIndex(current.label.charAt(0))] = only;
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    // названия с префиксом в лексикографическом порядке: обход останавливается, набрав limit названий
+    List<String> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                return List.of();
+            }
+            node = node.children[index];
+            int common = commonPrefix(node.label, key, position);
+            if (position + common < key.length() && common < node.label.length()) {
+                return List.of();
+            }
+            position += common;
+        }
+        List<String> completions = new ArrayList<>(limit);
+        collect(node, limit, completions);
+        return completions;
+    }
+
+    int size() {
+        return names;
+    }
+
+    private static void collect(Node node, int limit, List<String> completions) {
+        if (node.items > 0) {
+            completions.add(node.name());
+        }
+        for (int i = 0; i < node.children.length && completions.size() < limit; i++) {
+            collect(node.children[i], limit, completions);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+
+        private String label;
+        private char[] firstChars = NO_CHARS;
+        private Node[] children = NO_NODES;
+        private int items;
+        private Map<String, Integer> spellings;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        // при равенстве счётчиков остаётся написание, добавленное раньше
+        private String name() {
+            String name = null;
+            int max = 0;
+            for (Map.Entry<String, Integer> spelling : spellings.entrySet()) {
+                if (spelling.getValue() > max) {
+                    name = spelling.getKey();
+                    max = spelling.getValue();
+                }
+            }
+            return name;
+        }
+
+        private int childIndex(char first) {
+            return Arrays.binarySearch(firstChars, first);
+        }
+
+        private Node insertChild(int at, Node child) {
+            firstChars = Arrays.copyOf(firstChars, firstChars.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(firstChars, at, firstChars, at + 1, firstChars.length - at - 1);
+            System.arraycopy(children, at, children, at + 1, children.length - at - 1);
+            firstChars[at] = child.label.charAt(0);
+            children[at] = child;
+            return child;
+        }
+
+        private void removeChild(Node child) {
+            int at = childIndex(child.label.charAt(0));
+            char[] chars = new char[firstChars.length - 1];
+            Node[] nodes = new Node[children.length - 1];
+            System.arraycopy(firstChars, 0, chars, 0, at);
+            System.arraycopy(firstChars, at + 1, chars, at, chars.length - at);
+            System.arraycopy(children, 0, nodes, 0, at);
+            System.arraycopy(children, at + 1, nodes, at, nodes.length - at);
+            firstChars = chars;
+            children = nodes;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import ru.practicum.shareit.item.dto.request.UpdateItemRequestDto;
 import ru.practicum.shareit.item.dto.response.CommentResponseDto;
 import ru.practicum.shareit.item.dto.response.ItemResponseDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 
 import java.util.List;
 
@@ -17,7 +19,9 @@ public interface ItemService {
 
     ItemResponseDto getItemById(Long userId, Long itemId);
 
-    List<ItemResponseDto> search(Long userId, String text);
+    CursorPage<ItemResponseDto> search(Long userId, String text, PageParams page);
+
+    List<String> suggest(Long userId, String prefix, int size);
 
     ItemResponseDto updateItem(Long userId, Long itemId, UpdateItemRequestDto updateItemDto);
 
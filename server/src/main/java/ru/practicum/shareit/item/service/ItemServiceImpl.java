@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -18,6 +19,13 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchCursor;
+import ru.practicum.shareit.item.repository.ItemSearchHit;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -26,6 +34,8 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -41,6 +51,8 @@ public class ItemServiceImpl implements ItemService {
     private final UserService userService;
     private final CommentMapper commentMapper;
     private final ItemMapper itemMapper;
+    private final ObjectProvider<ItemSearchIndex> searchIndex;
+    private final ObjectProvider<ItemNameSuggester> nameSuggester;
 
     @Override
     @Transactional
@@ -59,6 +71,14 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        ItemSearchIndex index = searchIndex.getIfAvailable();
+        if (index != null) {
+            index.add(savedItem);
+        }
+        ItemNameSuggester suggester = nameSuggester.getIfAvailable();
+        if (suggester != null) {
+            suggester.add(savedItem);
+        }
         log.info("Вещь успешно создана: id={}, name={}, ownerId={}", savedItem.getId(), savedItem.getName(), userId);
 
         return itemMapper.toItemResponseDto(savedItem);
@@ -69,10 +89,12 @@ public class ItemServiceImpl implements ItemService {
         log.info("Запрошен список всех вещей владельца с ownerId={}", ownerId);
         userService.getExistingUser(ownerId);
 
-        return itemRepository.findByOwnerIdOrderByIdAsc(ownerId).stream()
+        List<Item> items = itemRepository.findByOwnerIdOrderByIdAsc(ownerId);
+        Map<Long, List<CommentResponseDto>> comments = getCommentsForItems(items.stream().map(Item::getId).toList());
+        return items.stream()
                 .map(item -> {
                     ItemResponseDto responseDto = itemMapper.toItemResponseDto(item);
-                    responseDto.setComments(getCommentsForItem(item.getId()));
+                    responseDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
                     return responseDto;
                 })
                 .collect(Collectors.toList());
@@ -90,15 +112,42 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemResponseDto> search(Long userId, String text) {
+    public CursorPage<ItemResponseDto> search(Long userId, String text, PageParams page) {
         userService.getExistingUser(userId);
         if (text == null || text.isBlank()) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        log.info("Запрошен список вещей по соответствию тексту: '{}', from={}, size={}", text, page.from(),
+                page.size());
+        ItemSearchCursor after = page.cursor() != null ? ItemSearchCursor.decode(page.cursor()) : null;
+        int offset = after != null ? 0 : page.from();
+        ItemSearchIndex index = searchIndex.getIfAvailable();
+        List<ItemSearchHit> hits = index != null && ItemSearchIndex.canAnswer(text)
+                ? hydrate(index.search(text, after, offset, page.size() + 1))
+                : itemRepository.searchAvailable(text, after, offset, page.size() + 1);
+
+        boolean hasMore = hits.size() > page.size();
+        List<ItemSearchHit> content = hasMore ? hits.subList(0, page.size()) : hits;
+        String nextCursor = hasMore ? ItemSearchCursor.of(content.getLast()).encode() : null;
+
+        return new CursorPage<>(content.stream()
+                .map(hit -> itemMapper.toItemResponseDto(hit.item()))
+                .toList(), nextCursor);
+    }
+
+    @Override
+    public List<String> suggest(Long userId, String prefix, int size) {
+        userService.getExistingUser(userId);
+        if (size <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
+        }
+        if (prefix == null || prefix.isBlank()) {
             return Collections.emptyList();
         }
-        log.info("Запрошен список вещей по соответствию тексту: '{}'", text);
-        return itemRepository.findByNameOrDescription(text).stream()
-                .map(itemMapper::toItemResponseDto)
-                .collect(Collectors.toList());
+        ItemNameSuggester suggester = nameSuggester.getIfAvailable();
+        return suggester != null
+                ? suggester.suggest(prefix, size)
+                : itemRepository.suggestAvailableNames(prefix, Math.min(size, ItemNameSuggester.MAX_SUGGESTIONS));
     }
 
     @Override
@@ -116,8 +165,17 @@ public class ItemServiceImpl implements ItemService {
 
         }
 
+        IndexedItem before = IndexedItem.of(existingItem);
         itemMapper.updateItem(updateItemDto, existingItem);
         itemRepository.save(existingItem);
+        ItemSearchIndex index = searchIndex.getIfAvailable();
+        if (index != null) {
+            index.update(before, existingItem);
+        }
+        ItemNameSuggester suggester = nameSuggester.getIfAvailable();
+        if (suggester != null) {
+            suggester.update(before, existingItem);
+        }
         log.info("Вещь с id={} успешно обновлена", existingItem.getId());
 
         return itemMapper.toItemResponseDto(existingItem);
@@ -153,9 +211,28 @@ public class ItemServiceImpl implements ItemService {
         return commentMapper.toCommentResponseDto(savedComment);
     }
 
-    private List<CommentResponseDto> getCommentsForItem(Long itemId) {
-        return commentRepository.findByItemId(itemId).stream()
-                .map(commentMapper::toCommentResponseDto)
+    // вещи страницы загружаются одним запросом, порядок релевантности задаёт индекс
+    private List<ItemSearchHit> hydrate(List<ItemSearchIndex.Hit> hits) {
+        Map<Long, Item> items = itemRepository.findAllById(hits.stream().map(ItemSearchIndex.Hit::itemId).toList())
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> items.containsKey(hit.itemId()))
+                .map(hit -> new ItemSearchHit(items.get(hit.itemId()), hit.relevance()))
                 .toList();
     }
+
+    private List<CommentResponseDto> getCommentsForItem(Long itemId) {
+        return getCommentsForItems(List.of(itemId)).getOrDefault(itemId, Collections.emptyList());
+    }
+
+    // комментарии всех вещей одним запросом вместе с авторами, группировка по вещи — в памяти
+    private Map<Long, List<CommentResponseDto>> getCommentsForItems(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return commentRepository.findWithAuthorByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentResponseDto, Collectors.toList())));
+    }
 }
\ No newline at end of file
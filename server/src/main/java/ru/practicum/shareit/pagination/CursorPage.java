@@ -0,0 +1,20 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.constant.Headers;
+
+import java.util.List;
+
+// nextCursor == null означает, что страница последняя
+public record CursorPage<T>(List<T> content, @Nullable String nextCursor) {
+
+    // тело остаётся массивом, курсор следующей страницы уходит заголовком
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(Headers.NEXT_CURSOR_HEADER_NAME, nextCursor);
+        }
+        return response.body(content);
+    }
+}
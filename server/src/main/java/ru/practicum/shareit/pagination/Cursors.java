@@ -0,0 +1,38 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// курсор непрозрачен для клиента: ключ последнего элемента страницы в base64url
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Cursors {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int parts) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+        String[] values = decoded.split("\\" + SEPARATOR, -1);
+        if (values.length != parts) {
+            throw invalid(cursor);
+        }
+        return values;
+    }
+
+    public static ValidationException invalid(String cursor) {
+        return new ValidationException("Некорректный курсор страницы: " + cursor);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.ValidationException;
+
+// cursor продолжает выдачу после последнего элемента предыдущей страницы, при нём from не учитывается
+public record PageParams(int from, int size, @Nullable String cursor) {
+
+    // больший size молча урезается: одна страница не должна выгружать всю историю пользователя
+    public static final int MAX_SIZE = 100;
+
+    public static PageParams of(int from, int size, @Nullable String cursor) {
+        if (from < 0) {
+            throw new ValidationException("Параметр from не может быть отрицательным");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
+        }
+        return new PageParams(from, Math.min(size, MAX_SIZE), cursor != null && !cursor.isBlank() ? cursor : null);
+    }
+
+    public static PageParams first(int size) {
+        return of(0, size, null);
+    }
+}
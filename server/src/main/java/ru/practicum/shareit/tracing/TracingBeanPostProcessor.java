@@ -0,0 +1,62 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+
+// спаны вокруг сервисов и репозиториев; вызовы мапперов сворачиваются в один спан на метод внутри родителя
+public class TracingBeanPostProcessor implements BeanPostProcessor {
+
+    private static final String BASE_PACKAGE = "ru.practicum.shareit.";
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public TracingBeanPostProcessor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    @NonNull
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof Repository<?, ?>) {
+            return advise(bean, "repository", repositoryName(bean), false);
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (!targetClass.getName().startsWith(BASE_PACKAGE)) {
+            return bean;
+        }
+        if (targetClass.getSimpleName().endsWith("ServiceImpl")) {
+            return advise(bean, "service", targetClass.getSimpleName(), false);
+        }
+        if (targetClass.getSimpleName().endsWith("MapperImpl")) {
+            return advise(bean, "mapper", targetClass.getSimpleName().replace("Impl", ""), true);
+        }
+        return bean;
+    }
+
+    private Object advise(Object bean, String component, String prefix, boolean aggregated) {
+        TracingMethodInterceptor interceptor = new TracingMethodInterceptor(tracer, component, prefix, aggregated);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private static String repositoryName(Object bean) {
+        return Arrays.stream(ClassUtils.getAllInterfaces(bean))
+                .filter(type -> type.getName().startsWith(BASE_PACKAGE))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse("Repository");
+    }
+}
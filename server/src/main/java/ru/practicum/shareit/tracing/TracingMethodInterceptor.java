@@ -0,0 +1,63 @@
+package ru.practicum.shareit.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.NonNull;
+
+import java.time.Instant;
+
+public class TracingMethodInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracer;
+    private final String component;
+    private final String prefix;
+    private final boolean aggregated;
+
+    public TracingMethodInterceptor(ObjectProvider<Tracer> tracer, String component, String prefix,
+                                    boolean aggregated) {
+        this.tracer = tracer;
+        this.component = component;
+        this.prefix = prefix;
+        this.aggregated = aggregated;
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        Span current = Tracer.currentSpan();
+        if (invocation.getMethod().getDeclaringClass() == Object.class || current == null || !current.isRecording()) {
+            return invocation.proceed();
+        }
+        String name = prefix + "." + invocation.getMethod().getName();
+        return aggregated ? invokeAggregated(invocation, name) : invokeInSpan(invocation, name);
+    }
+
+    private Object invokeInSpan(MethodInvocation invocation, String name) throws Throwable {
+        Span span = tracer.getObject().startChildSpan(name, "INTERNAL");
+        if (span == null) {
+            return invocation.proceed();
+        }
+        span.setAttribute("component", component);
+        try (Tracer.Scope ignored = span.makeCurrent()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Object invokeAggregated(MethodInvocation invocation, String name) throws Throwable {
+        Instant start = Instant.now();
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            tracer.getObject().aggregate(name, start, System.nanoTime() - startNanos, failed);
+        }
+    }
+}
@@ -5,7 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.DuplicatedDataException;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dto.request.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.request.UpdateUserRequestDto;
 import ru.practicum.shareit.user.dto.response.UserResponseDto;
@@ -91,6 +91,6 @@ public class UserServiceImpl implements UserService {
     @Override
     public User getExistingUser(Long userId) {
         return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id=%d не найден", userId)));
+                .orElseThrow(() -> new UserNotFoundException(userId));
     }
 }
\ No newline at end of file
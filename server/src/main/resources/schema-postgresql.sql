@@ -0,0 +1,8 @@
+-- выполняется после schema.sql только на Postgres (spring.sql.init.platform), H2 в тестах этих объектов не знает
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- поиск ищет подстроку через ILIKE только среди доступных вещей: триграммный индекс обслуживает '%text%'
+-- от трёх символов, более короткий запрос Postgres выполняет просмотром таблицы
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (name gin_trgm_ops) WHERE available;
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (description gin_trgm_ops)
+    WHERE available;
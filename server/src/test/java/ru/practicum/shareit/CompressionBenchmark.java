@@ -0,0 +1,131 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.request.NewBookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.request.NewItemRequestDto;
+import ru.practicum.shareit.item.dto.response.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.request.NewUserRequestDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// запуск: mvn -pl server -am test -Dtest=CompressionBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+// процессорное время общее для сервера и клиента, поэтому смотреть стоит на разницу строк с gzip и без
+@Tag("benchmark")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"
+})
+class CompressionBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int WARMUP_REQUESTS = 50;
+    private static final int MEASURED_REQUESTS = Integer.getInteger("benchmark.requests", 300);
+    private static final String[] WORDS = ("дрель перфоратор шуруповёрт лестница палатка велосипед самокат "
+            + "надёжный новый почти лёгкий мощный аккумулятор зарядка кейс комплект сверла насадки "
+            + "аренда залог сутки выходные самовывоз доставка инструкция гарантия 12 220В 18В 2000Вт").split(" ");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private long ownerId;
+    private long bookerId;
+
+    @BeforeAll
+    void seed() {
+        ownerId = userService.createUser(new NewUserRequestDto("Владелец", "owner@bench.ru")).getId();
+        bookerId = userService.createUser(new NewUserRequestDto("Арендатор", "booker@bench.ru")).getId();
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < ITEMS; i++) {
+            ItemResponseDto item = itemService.createItem(ownerId, NewItemRequestDto.builder()
+                    .name("Вещь " + i)
+                    .description(randomText(random, 2000))
+                    .available(true)
+                    .build());
+            bookingService.createBooking(bookerId,
+                    new NewBookingRequestDto(start.plusHours(i), start.plusHours(i + 1), item.getId()));
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(10) == 0 ? ". " : " ");
+        }
+        return text.substring(0, length);
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+            "/items, identity",
+            "/items, gzip",
+            "/bookings?state=ALL, identity",
+            "/bookings?state=ALL, gzip",
+            "/bookings/owner?state=ALL, identity",
+            "/bookings/owner?state=ALL, gzip"
+    })
+    void measureResponseSize(String path, String encoding) throws Exception {
+        long userId = path.startsWith("/bookings?") ? bookerId : ownerId;
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Accept-Encoding", encoding)
+                .GET()
+                .build();
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long bytes = 0;
+        String contentEncoding = "identity";
+        long cpuBefore = os.getProcessCpuTime();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(response.statusCode()).isEqualTo(200);
+            bytes += response.body().length;
+            contentEncoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long cpuNanos = os.getProcessCpuTime() - cpuBefore;
+
+        System.out.printf("%s Accept-Encoding=%s Content-Encoding=%s bytes/response=%d "
+                        + "cpu/response=%.3f ms latency=%.3f ms%n",
+                path, encoding, contentEncoding, bytes / MEASURED_REQUESTS,
+                cpuNanos / 1_000_000.0 / MEASURED_REQUESTS, elapsedNanos / 1_000_000.0 / MEASURED_REQUESTS);
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+// запуск: mvn -pl server -am test -Dtest=ItemSearchBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+// нужен Postgres из application.properties: триграммные индексы есть только там, в H2 оба варианта — просмотр.
+// Базовая строка — тот же запрос с запрещёнными индексными планами, то есть прежний последовательный просмотр
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "shareit.tracing.enabled=false",
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"
+})
+class ItemSearchBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+    private static final int DESCRIPTION_LENGTH = Integer.getInteger("benchmark.description-length", 200);
+    private static final int BATCH_SIZE = 10_000;
+    private static final int WARMUP_QUERIES = 20;
+    private static final int MEASURED_QUERIES = Integer.getInteger("benchmark.queries", 100);
+    private static final String[] WORDS = ("дрель перфоратор шуруповёрт лестница палатка велосипед самокат "
+            + "надёжный новый почти лёгкий мощный аккумулятор зарядка кейс комплект сверла насадки "
+            + "аренда залог сутки выходные самовывоз доставка инструкция гарантия").split(" ");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @BeforeAll
+    void seed() {
+        Long ownerId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (name, email) VALUES ('Владелец', 'owner@bench.ru') RETURNING id", Long.class);
+        Random random = new Random(42);
+        for (int inserted = 0; inserted < ITEMS; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = inserted; i < Math.min(inserted + BATCH_SIZE, ITEMS); i++) {
+                String name = WORDS[random.nextInt(WORDS.length)] + " " + i;
+                batch.add(new Object[]{name, randomText(random), random.nextInt(10) != 0, ownerId});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)", batch);
+        }
+        // уникальные слова, которые найдутся ровно в одной вещи
+        jdbcTemplate.update("UPDATE items SET name = 'Кофемашина рожковая' WHERE id = (SELECT MAX(id) FROM items)");
+        jdbcTemplate.execute("ANALYZE items");
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder(DESCRIPTION_LENGTH);
+        while (text.length() < DESCRIPTION_LENGTH) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.substring(0, DESCRIPTION_LENGTH);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"кофемашина", "рожков", "перфоратор", "ёрт", "зонт"})
+    void compareIndexedSearchWithSequentialScan(String text) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT id FROM items "
+                + "WHERE available AND (name ILIKE ? OR description ILIKE ?)", String.class,
+                "%" + text + "%", "%" + text + "%");
+        int found = itemRepository.searchAvailable(text, null, 0, 10).size();
+
+        double indexedMillis = measure(() -> itemRepository.searchAvailable(text, null, 0, 10).size());
+        double scanMillis = measure(() -> transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+            return itemRepository.searchAvailable(text, null, 0, 10).size();
+        }));
+
+        // у частого слова совпадает большая часть таблицы, и планировщик сам выбирает просмотр: это видно в плане
+        System.out.printf("'%s' items=%d found=%d indexed=%.3f ms seq scan=%.3f ms plan: %s%n", text, ITEMS, found,
+                indexedMillis, scanMillis, String.join(" / ", plan.stream().map(String::trim).toList()));
+    }
+
+    private static double measure(IntSupplier query) {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            query.getAsInt();
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            query.getAsInt();
+        }
+        return (System.nanoTime() - startNanos) / 1_000_000.0 / MEASURED_QUERIES;
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.response.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.response.ItemResponseDto;
+import ru.practicum.shareit.item.dto.response.ItemShortResponseDto;
+import ru.practicum.shareit.request.dto.response.ItemRequestResponseDto;
+import ru.practicum.shareit.user.dto.response.UserResponseDto;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// запуск: mvn -pl server -am test -Dtest=SerializationBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+// мапперы настроены как в приложении (даты строками ISO); разбор — в дерево, как у gateway без знания типов
+@Tag("benchmark")
+class SerializationBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = Integer.getInteger("benchmark.rounds", 5_000);
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json()
+            .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @ParameterizedTest(name = "{0} x{1}")
+    @CsvSource({
+            "bookings, 10",
+            "bookings, 100",
+            "bookings, 1000",
+            "requests, 10",
+            "requests, 100",
+            "requests, 1000"
+    })
+    void compareJsonAndSmile(String payload, int size) throws Exception {
+        List<?> list = payload.equals("bookings") ? bookings(size) : requests(size);
+
+        byte[] json = jsonMapper.writeValueAsBytes(list);
+        byte[] smile = smileMapper.writeValueAsBytes(list);
+        assertThat(jsonMapper.writeValueAsString(smileMapper.readTree(smile)))
+                .isEqualTo(new String(json, StandardCharsets.UTF_8));
+
+        int rounds = Math.max(10, MEASURED_ROUNDS / size * 10);
+        for (ObjectMapper mapper : List.of(jsonMapper, smileMapper)) {
+            byte[] encoded = mapper == jsonMapper ? json : smile;
+            measure(mapper, list, encoded, Math.max(10, WARMUP_ROUNDS / size * 10));
+            long[] cpuNanos = measure(mapper, list, encoded, rounds);
+            System.out.printf("%s x%d %s bytes=%d serialize=%.1f us parse=%.1f us%n",
+                    payload, size, mapper == jsonMapper ? "json " : "smile", encoded.length,
+                    cpuNanos[0] / 1_000.0 / rounds, cpuNanos[1] / 1_000.0 / rounds);
+        }
+    }
+
+    private long[] measure(ObjectMapper mapper, List<?> list, byte[] encoded, int rounds) throws Exception {
+        long checksum = 0;
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < rounds; i++) {
+            checksum += mapper.writeValueAsBytes(list).length;
+        }
+        long serializeNanos = threads.getCurrentThreadCpuTime() - start;
+
+        start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < rounds; i++) {
+            checksum += mapper.readTree(encoded).size();
+        }
+        long parseNanos = threads.getCurrentThreadCpuTime() - start;
+        assertThat(checksum).isPositive();
+        return new long[]{serializeNanos, parseNanos};
+    }
+
+    private static List<BookingResponseDto> bookings(int size) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2025, 6, 1, 12, 0);
+        List<BookingResponseDto> bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bookings.add(booking(random, i, start.plusHours(i)));
+        }
+        return bookings;
+    }
+
+    private static BookingResponseDto booking(Random random, long id, LocalDateTime start) {
+        long itemId = random.nextInt(50);
+        long bookerId = random.nextInt(20);
+        return BookingResponseDto.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusDays(1 + random.nextInt(3)))
+                .item(new ItemShortResponseDto(itemId, "Вещь " + itemId, true, null))
+                .booker(new UserResponseDto(bookerId, "Пользователь " + bookerId, "user" + bookerId + "@mail.ru"))
+                .status(STATUSES[random.nextInt(STATUSES.length)])
+                .build();
+    }
+
+    private static List<ItemRequestResponseDto> requests(int size) {
+        Random random = new Random(42);
+        LocalDateTime created = LocalDateTime.of(2025, 6, 1, 12, 0);
+        List<ItemRequestResponseDto> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<ItemResponseDto> items = new ArrayList<>();
+            for (int j = random.nextInt(3); j > 0; j--) {
+                long itemId = random.nextInt(1000);
+                items.add(ItemResponseDto.builder()
+                        .id(itemId)
+                        .name("Вещь " + itemId)
+                        .description("Исправная вещь, отдаю на выходные, самовывоз")
+                        .available(true)
+                        .comments(List.of())
+                        .requestId((long) i)
+                        .build());
+            }
+            requests.add(ItemRequestResponseDto.builder()
+                    .id((long) i)
+                    .description("Нужна дрель на пару дней, можно без сверл")
+                    .requestorName("Пользователь " + random.nextInt(20))
+                    .created(created.minusMinutes(i))
+                    .items(items)
+                    .build());
+        }
+        return requests;
+    }
+}
@@ -16,6 +16,8 @@ import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.response.ItemShortResponseDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 import ru.practicum.shareit.user.dto.response.UserResponseDto;
 
 import java.time.LocalDateTime;
@@ -25,6 +27,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -140,7 +143,8 @@ public class BookingControllerTest {
     void shouldReturnAllBookings_WhenBookerRequestsWithStateAll() throws Exception {
         List<BookingResponseDto> bookerBookings = List.of(waitingBooking);
 
-        when(bookingService.getBookingsByBookerId(1L, BookingState.ALL)).thenReturn(bookerBookings);
+        when(bookingService.getBookingsByBookerId(1L, BookingState.ALL, PageParams.first(10)))
+                .thenReturn(new CursorPage<>(bookerBookings, null));
 
         mockMvc.perform(get("/bookings")
                         .param("state", "ALL")
@@ -160,7 +164,8 @@ public class BookingControllerTest {
     void shouldReturnAllBookings_WhenOwnerRequestsWithStateAll() throws Exception {
         List<BookingResponseDto> ownerBookings = List.of(waitingBooking);
 
-        when(bookingService.getBookingsByOwnerId(1L, BookingState.ALL)).thenReturn(ownerBookings);
+        when(bookingService.getBookingsByOwnerId(1L, BookingState.ALL, PageParams.first(10)))
+                .thenReturn(new CursorPage<>(ownerBookings, null));
 
         mockMvc.perform(get("/bookings/owner")
                         .param("state", "ALL")
@@ -175,4 +180,43 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].booker.email").value("user@mail.com"))
                 .andExpect(jsonPath("$[0].status").value("WAITING"));
     }
+
+    @Test
+    void shouldPassPagingAndReturnNextCursorHeader() throws Exception {
+        when(bookingService.getBookingsByOwnerId(1L, BookingState.PAST, PageParams.of(0, 1, "abc")))
+                .thenReturn(new CursorPage<>(List.of(approvedBooking), "next"));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("state", "PAST")
+                        .param("size", "1")
+                        .param("cursor", "abc")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(approvedBooking.getId()));
+    }
+
+    @Test
+    void shouldCapPageSizeAndOmitCursorHeaderOnLastPage() throws Exception {
+        when(bookingService.getBookingsByBookerId(1L, BookingState.ALL, PageParams.first(PageParams.MAX_SIZE)))
+                .thenReturn(new CursorPage<>(List.of(waitingBooking), null));
+
+        mockMvc.perform(get("/bookings")
+                        .param("state", "ALL")
+                        .param("size", "100000")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void shouldRejectNegativeFrom() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .param("state", "ALL")
+                        .param("from", "-1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
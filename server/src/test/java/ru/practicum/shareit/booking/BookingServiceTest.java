@@ -16,11 +16,14 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.request.NewItemRequestDto;
 import ru.practicum.shareit.item.dto.response.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 import ru.practicum.shareit.user.dto.request.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.response.UserResponseDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -231,7 +234,7 @@ public class BookingServiceTest {
 
         BookingResponseDto createdBooking = bookingService.createBooking(booker.getId(), bookingRequest);
         List<BookingResponseDto> retrievedBookingsByBooker = bookingService.getBookingsByBookerId(booker.getId(),
-                BookingState.ALL).stream().toList();
+                BookingState.ALL, PageParams.first(10)).content();
 
         assertThat(retrievedBookingsByBooker.getFirst().getId()).isEqualTo(createdBooking.getId());
         assertThat(retrievedBookingsByBooker.getFirst().getStart()).isEqualTo(createdBooking.getStart());
@@ -254,7 +257,7 @@ public class BookingServiceTest {
 
         BookingResponseDto createdBooking = bookingService.createBooking(booker.getId(), bookingRequest);
         List<BookingResponseDto> retrievedBookingsByOwner = bookingService.getBookingsByOwnerId(owner.getId(),
-                BookingState.ALL).stream().toList();
+                BookingState.ALL, PageParams.first(10)).content();
 
         assertThat(retrievedBookingsByOwner.getFirst().getId()).isEqualTo(createdBooking.getId());
         assertThat(retrievedBookingsByOwner.getFirst().getStart()).isEqualTo(createdBooking.getStart());
@@ -263,4 +266,54 @@ public class BookingServiceTest {
         assertThat(retrievedBookingsByOwner.getFirst().getBooker()).isEqualTo(booker);
         assertThat(retrievedBookingsByOwner.getFirst().getStatus()).isEqualTo(BookingStatus.WAITING);
     }
+
+    @Test
+    void shouldPageBookingsByOffsetAndByCursor() {
+        UserResponseDto owner = userService.createUser(firstUser);
+        UserResponseDto booker = userService.createUser(secondUser);
+        ItemResponseDto item = itemService.createItem(owner.getId(), firstItem);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            NewBookingRequestDto bookingRequest = NewBookingRequestDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusHours(i % 2))
+                    .end(start.plusDays(1))
+                    .build();
+            createdIds.add(bookingService.createBooking(booker.getId(), bookingRequest).getId());
+        }
+        List<Long> expectedOrder = List.of(createdIds.get(3), createdIds.get(1), createdIds.get(4),
+                createdIds.get(2), createdIds.get(0));
+
+        CursorPage<BookingResponseDto> firstPage = bookingService.getBookingsByOwnerId(owner.getId(),
+                BookingState.FUTURE, PageParams.first(2));
+        CursorPage<BookingResponseDto> secondPage = bookingService.getBookingsByOwnerId(owner.getId(),
+                BookingState.FUTURE, PageParams.of(0, 2, firstPage.nextCursor()));
+        CursorPage<BookingResponseDto> lastPage = bookingService.getBookingsByOwnerId(owner.getId(),
+                BookingState.FUTURE, PageParams.of(0, 2, secondPage.nextCursor()));
+        CursorPage<BookingResponseDto> offsetPage = bookingService.getBookingsByBookerId(booker.getId(),
+                BookingState.WAITING, PageParams.of(1, 3, null));
+
+        assertThat(ids(firstPage)).isEqualTo(expectedOrder.subList(0, 2));
+        assertThat(ids(secondPage)).isEqualTo(expectedOrder.subList(2, 4));
+        assertThat(ids(lastPage)).isEqualTo(expectedOrder.subList(4, 5));
+        assertThat(lastPage.nextCursor()).isNull();
+        assertThat(ids(offsetPage)).isEqualTo(expectedOrder.subList(1, 4));
+        assertThat(offsetPage.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        UserResponseDto booker = userService.createUser(secondUser);
+
+        assertThatThrownBy(() -> bookingService.getBookingsByBookerId(booker.getId(), BookingState.ALL,
+                PageParams.of(0, 10, "not-a-cursor")))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private static List<Long> ids(CursorPage<BookingResponseDto> page) {
+        return page.content().stream()
+                .map(BookingResponseDto::getId)
+                .toList();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.http2.enabled=true", "shareit.http2.max-concurrent-streams=50"})
+class Http2ConfigTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void shouldMultiplexRequestsOverCleartextHttp2() throws Exception {
+        try (HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                    .GET()
+                    .build();
+
+            HttpResponse<String> upgraded = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> multiplexed = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertThat(upgraded.statusCode()).isEqualTo(200);
+            assertThat(upgraded.version()).isEqualTo(HttpClient.Version.HTTP_2);
+            assertThat(multiplexed.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        }
+    }
+}
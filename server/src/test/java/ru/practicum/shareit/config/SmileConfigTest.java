@@ -0,0 +1,92 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.request.NewBookingRequestDto;
+import ru.practicum.shareit.booking.dto.response.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.response.ItemShortResponseDto;
+import ru.practicum.shareit.user.dto.response.UserResponseDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@WebMvcTest(BookingController.class)
+@Import(SmileConfig.class)
+class SmileConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @Test
+    void shouldAnswerInSmileWithSameDatesAsJson() throws Exception {
+        when(bookingService.getBookingById(1L, 1L)).thenReturn(booking());
+
+        byte[] body = mockMvc.perform(get("/bookings/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(SMILE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode booking = smileMapper.readTree(body);
+        assertThat(booking.path("start").asText()).isEqualTo("2030-01-10T12:00:00");
+        assertThat(booking.path("status").asText()).isEqualTo("WAITING");
+    }
+
+    @Test
+    void shouldReadSmileBodyAndKeepJsonForOtherClients() throws Exception {
+        NewBookingRequestDto newBooking = NewBookingRequestDto.builder()
+                .start(START)
+                .end(START.plusDays(1))
+                .itemId(1L)
+                .build();
+        when(bookingService.createBooking(1L, newBooking)).thenReturn(booking());
+
+        mockMvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(SMILE)
+                        .content(smileMapper.writeValueAsBytes(newBooking)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.start").value("2030-01-10T12:00:00"));
+    }
+
+    private static BookingResponseDto booking() {
+        return BookingResponseDto.builder()
+                .id(1L)
+                .start(START)
+                .end(START.plusDays(1))
+                .item(new ItemShortResponseDto(1L, "Item", true, null))
+                .booker(new UserResponseDto(1L, "User", "user@mail.com"))
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
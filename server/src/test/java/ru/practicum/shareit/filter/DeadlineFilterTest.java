@@ -0,0 +1,81 @@
+package ru.practicum.shareit.filter;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.deadline.DeadlineStatementInspector;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineFilterTest {
+
+    private final DeadlineFilter filter = new DeadlineFilter();
+
+    @Test
+    void shouldRejectRequestThatArrivedAfterDeadline() throws Exception {
+        AtomicBoolean handled = new AtomicBoolean();
+        MockHttpServletResponse response = execute(request("0"), () -> handled.set(true));
+
+        assertThat(response.getStatus()).isEqualTo(504);
+        assertThat(handled).isFalse();
+    }
+
+    @Test
+    void shouldAbortQueriesOnceDeadlinePassesAndClearItAfterRequest() throws Exception {
+        DeadlineStatementInspector inspector = new DeadlineStatementInspector();
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        execute(request("20"), () -> {
+            assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+            sleep(50);
+            assertThatThrownBy(() -> inspector.inspect("select 1")).isInstanceOf(DeadlineExceededException.class);
+            aborted.set(true);
+        });
+
+        assertThat(aborted).isTrue();
+        assertThat(RequestDeadline.isExpired()).isFalse();
+    }
+
+    @Test
+    void shouldSkipRequestsWithoutDeadlineAndRejectMalformedHeader() throws Exception {
+        AtomicBoolean handled = new AtomicBoolean();
+        execute(new MockHttpServletRequest("GET", "/items"), () -> handled.set(!RequestDeadline.isExpired()));
+
+        assertThat(handled).isTrue();
+        assertThat(execute(request("soon"), () -> { }).getStatus()).isEqualTo(400);
+    }
+
+    private static MockHttpServletRequest request(String timeoutMillis) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("X-Request-Timeout", timeoutMillis);
+        return request;
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request, Runnable handler) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                handler.run();
+            }
+        }));
+        return response;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
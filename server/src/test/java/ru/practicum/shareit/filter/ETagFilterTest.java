@@ -0,0 +1,87 @@
+package ru.practicum.shareit.filter;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"status\":\"WAITING\"}]";
+
+    private final ETagFilter filter = new ETagFilter();
+
+    @Test
+    void shouldAddStrongETagToPolledResource() throws Exception {
+        MockHttpServletResponse response = execute(new MockHttpServletRequest("GET", "/bookings/1"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).startsWith("\"").doesNotStartWith("W/");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWithoutBodyWhenETagMatches() throws Exception {
+        String eTag = execute(new MockHttpServletRequest("GET", "/items/1")).getHeader("ETag");
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/items/1");
+        conditional.addHeader("If-None-Match", eTag);
+
+        MockHttpServletResponse response = execute(conditional);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo(eTag);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void shouldReturnFullBodyWhenETagChanged() throws Exception {
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/requests/1");
+        conditional.addHeader("If-None-Match", "\"0outdated\"");
+
+        MockHttpServletResponse response = execute(conditional);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldSkipWritesAndOtherPaths() throws Exception {
+        assertThat(execute(new MockHttpServletRequest("POST", "/items")).getHeader("ETag")).isNull();
+        assertThat(execute(new MockHttpServletRequest("GET", "/users/1")).getHeader("ETag")).isNull();
+        assertThat(execute(new MockHttpServletRequest("GET", "/itemsearch")).getHeader("ETag")).isNull();
+    }
+
+    @Test
+    void shouldNotBufferStreamedLists() throws Exception {
+        for (String path : new String[]{"/bookings", "/bookings/owner", "/items", "/requests", "/requests/all"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.addHeader("If-None-Match", execute(new MockHttpServletRequest("GET", path + "/1"))
+                    .getHeader("ETag"));
+
+            MockHttpServletResponse response = execute(request);
+
+            assertThat(response.getStatus()).as(path).isEqualTo(200);
+            assertThat(response.getHeader("ETag")).as(path).isNull();
+        }
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+}
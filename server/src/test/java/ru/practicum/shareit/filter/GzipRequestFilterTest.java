@@ -0,0 +1,114 @@
+package ru.practicum.shareit.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.exception.PayloadTooLargeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class GzipRequestFilterTest {
+
+    private static final int MAX_INFLATED_SIZE = 1024;
+
+    private final GzipRequestFilter filter = new GzipRequestFilter(DataSize.ofBytes(MAX_INFLATED_SIZE));
+
+    @Test
+    void shouldDecompressGzipBody() throws Exception {
+        String json = "{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(gzip(json));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest filtered = (HttpServletRequest) chain.getRequest();
+        assertThat(filtered.getHeader("Content-Encoding")).isNull();
+        assertThat(filtered.getContentLength()).isEqualTo(-1);
+        assertThat(new String(filtered.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(json);
+    }
+
+    @Test
+    void shouldRefuseReadListenerEvenInAsyncRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.setAsyncSupported(true);
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(gzip("{}"));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        HttpServletRequest filtered = (HttpServletRequest) chain.getRequest();
+        filtered.startAsync();
+
+        ServletInputStream body = filtered.getInputStream();
+
+        assertThatThrownBy(() -> body.setReadListener(mock(ReadListener.class)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldStopInflatingPastMaxSize() throws Exception {
+        MockHttpServletRequest atLimit = new MockHttpServletRequest("POST", "/items");
+        atLimit.addHeader("Content-Encoding", "gzip");
+        atLimit.setContent(gzip("0".repeat(MAX_INFLATED_SIZE)));
+        MockFilterChain atLimitChain = new MockFilterChain();
+        filter.doFilter(atLimit, new MockHttpServletResponse(), atLimitChain);
+        assertThat(atLimitChain.getRequest().getInputStream().readAllBytes()).hasSize(MAX_INFLATED_SIZE);
+
+        byte[] bomb = gzip("0".repeat(MAX_INFLATED_SIZE * 1024));
+        assertThat(bomb.length).isLessThan(MAX_INFLATED_SIZE * 2);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(bomb);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream body = chain.getRequest().getInputStream();
+        assertThatThrownBy(body::readAllBytes).isInstanceOf(PayloadTooLargeException.class);
+    }
+
+    @Test
+    void shouldPassPlainBodyUnchanged() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    void shouldRejectCorruptedGzipBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent("not gzip".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    private static byte[] gzip(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
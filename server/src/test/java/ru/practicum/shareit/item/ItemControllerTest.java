@@ -16,6 +16,8 @@ import ru.practicum.shareit.item.dto.request.UpdateItemRequestDto;
 import ru.practicum.shareit.item.dto.response.CommentResponseDto;
 import ru.practicum.shareit.item.dto.response.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -26,6 +28,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -175,8 +178,8 @@ public class ItemControllerTest {
     @Test
     void shouldReturnItemsMatchingSearchText() throws Exception {
         String searchText = "2";
-        when(itemService.search(userId, searchText))
-                .thenReturn(List.of(anotherItemDto));
+        when(itemService.search(userId, searchText, PageParams.first(10)))
+                .thenReturn(new CursorPage<>(List.of(anotherItemDto), null));
 
         mvc.perform(get("/items/search")
                         .header("X-Sharer-User-Id", userId)
@@ -184,6 +187,7 @@ public class ItemControllerTest {
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(anotherItemDto.getId()))
                 .andExpect(jsonPath("$[0].name").value(anotherItemDto.getName()))
@@ -195,8 +199,8 @@ public class ItemControllerTest {
     @Test
     void shouldReturnEmptyListWhenNoItemsMatchSearchText() throws Exception {
         String searchText = "non-existent";
-        when(itemService.search(userId, searchText))
-                .thenReturn(List.of());
+        when(itemService.search(userId, searchText, PageParams.first(10)))
+                .thenReturn(new CursorPage<>(List.of(), null));
 
         mvc.perform(get("/items/search")
                         .header("X-Sharer-User-Id", userId)
@@ -207,6 +211,39 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void shouldPassSearchCursorAndReturnNextCursorHeader() throws Exception {
+        when(itemService.search(userId, "дрель", PageParams.of(0, PageParams.MAX_SIZE, "abc")))
+                .thenReturn(new CursorPage<>(List.of(anotherItemDto), "next"));
+
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("text", "дрель")
+                        .param("size", "100000")
+                        .param("cursor", "abc")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id").value(anotherItemDto.getId()));
+    }
+
+    @Test
+    void shouldReturnNameSuggestionsForPrefix() throws Exception {
+        when(itemService.suggest(userId, "дре", 5)).thenReturn(List.of("Дрель", "Дрель ударная"));
+
+        mvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("prefix", "дре")
+                        .param("size", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]").value("Дрель"))
+                .andExpect(jsonPath("$[1]").value("Дрель ударная"));
+    }
+
     @Test
     void shouldAddCommentToItemSuccessfully() throws Exception {
         when(itemService.createComment(userId, itemId, newCommentRequestDto))
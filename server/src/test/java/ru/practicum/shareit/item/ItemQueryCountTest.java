@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.response.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemQueryCountTest {
+
+    private static final int COMMENTS_PER_ITEM = 2;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // пользователь, вещи владельца и комментарии с авторами — три запроса при любом числе вещей
+    @ParameterizedTest(name = "вещей: {0}")
+    @ValueSource(ints = {1, 10, 50})
+    void shouldLoadOwnerItemsWithCommentsInConstantNumberOfQueries(int itemCount) {
+        User owner = userRepository.save(User.builder().name("Владелец").email("owner@example.com").build());
+        for (int i = 0; i < itemCount; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Вещь " + i).description("Описание").available(true).owner(owner).build());
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                User author = userRepository.save(User.builder()
+                        .name("Автор " + i + "-" + j).email("author" + i + "-" + j + "@example.com").build());
+                commentRepository.save(Comment.builder()
+                        .text("Отзыв").item(item).author(author).created(LocalDateTime.now()).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemResponseDto> items = itemService.getItemsByOwnerId(owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(items).hasSize(itemCount);
+        assertThat(items).allSatisfy(item -> assertThat(item.getComments()).hasSize(COMMENTS_PER_ITEM)
+                .allSatisfy(comment -> assertThat(comment.getAuthorName()).startsWith("Автор ")));
+    }
+}
@@ -18,6 +18,8 @@ import ru.practicum.shareit.item.dto.request.UpdateItemRequestDto;
 import ru.practicum.shareit.item.dto.response.CommentResponseDto;
 import ru.practicum.shareit.item.dto.response.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageParams;
 import ru.practicum.shareit.request.dto.request.NewItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.response.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -26,6 +28,7 @@ import ru.practicum.shareit.user.dto.response.UserResponseDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -260,4 +263,106 @@ public class ItemServiceTest {
         assertThatThrownBy(() -> itemService.createComment(owner.getId(), item.getId(), commentRequest))
                 .isInstanceOf(ValidationException.class);
     }
+
+    @Test
+    void shouldRankNameMatchesFirstAndPageSearchResults() {
+        UserResponseDto owner = userService.createUser(ownerDto);
+        ItemResponseDto inDescription = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Набор").description("Дрель и биты").available(true).build());
+        ItemResponseDto inNameOnly = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Дрель ударная").description("Мощная").available(true).build());
+        ItemResponseDto inBoth = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("дрель").description("Аккумуляторная дрель").available(true).build());
+        itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Дрель старая").description("Сломана").available(false).build());
+
+        List<ItemResponseDto> firstPage = itemService.search(owner.getId(), "дРелЬ", PageParams.first(2)).content();
+        List<ItemResponseDto> secondPage = itemService.search(owner.getId(), "дРелЬ", PageParams.of(2, 2, null))
+                .content();
+
+        assertThat(firstPage).extracting(ItemResponseDto::getId).containsExactly(inBoth.getId(), inNameOnly.getId());
+        assertThat(secondPage).extracting(ItemResponseDto::getId).containsExactly(inDescription.getId());
+    }
+
+    @Test
+    void shouldWalkSearchResultsByCursor() {
+        UserResponseDto owner = userService.createUser(ownerDto);
+        ItemResponseDto inDescription = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Набор").description("Ударная дрель и биты").available(true).build());
+        ItemResponseDto inName = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Ударная дрель").description("Мощная").available(true).build());
+        ItemResponseDto inBoth = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Ударная дрель").description("Ударная дрель с кейсом").available(true).build());
+        ItemResponseDto alsoInBoth = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Ударная дрель").description("Ударная дрель без кейса").available(true).build());
+
+        // один термин отвечает индекс в памяти, фразу с пробелом — база
+        for (String text : List.of("дрель", "ударная дрель")) {
+            List<Long> ids = new ArrayList<>();
+            CursorPage<ItemResponseDto> page = itemService.search(owner.getId(), text, PageParams.first(3));
+            ids.addAll(page.content().stream().map(ItemResponseDto::getId).toList());
+            assertThat(page.nextCursor()).isNotNull();
+
+            page = itemService.search(owner.getId(), text, PageParams.of(0, 3, page.nextCursor()));
+            ids.addAll(page.content().stream().map(ItemResponseDto::getId).toList());
+            assertThat(page.nextCursor()).isNull();
+
+            assertThat(ids).as(text).containsExactly(inBoth.getId(), alsoInBoth.getId(), inName.getId(),
+                    inDescription.getId());
+        }
+    }
+
+    @Test
+    void shouldRejectMalformedSearchCursor() {
+        UserResponseDto owner = userService.createUser(ownerDto);
+
+        assertThatThrownBy(() -> itemService.search(owner.getId(), "дрель", PageParams.of(0, 10, "не-курсор")))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void shouldSuggestNamesOfAvailableItemsAndFollowUpdates() {
+        UserResponseDto owner = userService.createUser(ownerDto);
+        itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Дрель ударная").description("Мощная").available(true).build());
+        ItemResponseDto drill = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Дрель").description("Лёгкая").available(true).build());
+        itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Дрезина").description("Сломана").available(false).build());
+
+        assertThat(itemService.suggest(owner.getId(), "ДРе", 10)).containsExactly("Дрель", "Дрель ударная");
+        assertThat(itemService.suggest(owner.getId(), "дре", 1)).containsExactly("Дрель");
+
+        itemService.updateItem(owner.getId(), drill.getId(), UpdateItemRequestDto.builder().available(false).build());
+
+        assertThat(itemService.suggest(owner.getId(), "дре", 10)).containsExactly("Дрель ударная");
+        assertThat(itemService.suggest(owner.getId(), " ", 10)).isEmpty();
+        assertThatThrownBy(() -> itemService.suggest(owner.getId(), "дре", 0))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void shouldFindItemByUpdatedNameOnly() {
+        UserResponseDto owner = userService.createUser(ownerDto);
+        ItemResponseDto item = itemService.createItem(owner.getId(), itemDto);
+        itemService.updateItem(owner.getId(), item.getId(), UpdateItemRequestDto.builder().name("Палатка").build());
+
+        assertThat(itemService.search(owner.getId(), "латк", PageParams.first(10)).content())
+                .extracting(ItemResponseDto::getId).containsExactly(item.getId());
+        assertThat(itemService.search(owner.getId(), "gooditem", PageParams.first(10)).content()).isEmpty();
+    }
+
+    @Test
+    void shouldSearchForLikeWildcardsLiterally() {
+        UserResponseDto owner = userService.createUser(ownerDto);
+        ItemResponseDto discounted = itemService.createItem(owner.getId(), NewItemRequestDto.builder()
+                .name("Палатка").description("Скидка 50% на выходные").available(true).build());
+        itemService.createItem(owner.getId(), itemDto);
+
+        assertThat(itemService.search(owner.getId(), "0%", PageParams.first(10)).content())
+                .extracting(ItemResponseDto::getId).containsExactly(discounted.getId());
+        assertThat(itemService.search(owner.getId(), "%", PageParams.first(10)).content())
+                .extracting(ItemResponseDto::getId).containsExactly(discounted.getId());
+        assertThat(itemService.search(owner.getId(), "_", PageParams.first(10)).content()).isEmpty();
+    }
 }
\ No newline at end of file
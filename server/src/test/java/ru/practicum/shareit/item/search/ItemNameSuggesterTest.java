@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemNameSuggesterTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemNameSuggester suggester = new ItemNameSuggester(itemRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findIndexedItemsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new IndexedItem(1L, "Дрель ударная", "Мощная", true),
+                new IndexedItem(2L, "дрель", "Лёгкая", true),
+                new IndexedItem(3L, "Дрезина", "Не едет", false)));
+        suggester.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void shouldSuggestOnlyAvailableItemsAndFollowUpdates() {
+        assertThat(suggester.suggest("ДРе", 10)).containsExactly("дрель", "Дрель ударная");
+
+        Item item = Item.builder().id(4L).name("Дрель").description("Новая").available(true).build();
+        suggester.add(item);
+        Item other = Item.builder().id(5L).name("Дрель").description("Ещё одна").available(true).build();
+        suggester.add(other);
+        assertThat(suggester.suggest("дрель", 10)).containsExactly("Дрель", "Дрель ударная");
+
+        IndexedItem before = IndexedItem.of(item);
+        item.setAvailable(false);
+        suggester.update(before, item);
+        before = IndexedItem.of(other);
+        other.setName("Дрезина");
+        suggester.update(before, other);
+        assertThat(suggester.suggest("дре", 10)).containsExactly("Дрезина", "дрель", "Дрель ударная");
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchCursor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemSearchIndex index = new ItemSearchIndex(itemRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findIndexedItemsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new IndexedItem(1L, "Дрель ударная", "Мощная, с кейсом", true),
+                new IndexedItem(2L, "Перфоратор", "Сверлит лучше любой дрели", true),
+                new IndexedItem(3L, "Шуруповёрт-дрель", "Аккумуляторная дрель", true),
+                new IndexedItem(4L, "Дрель старая", "Не работает", false)));
+        index.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void shouldMatchSubstringsOfTermsAndRankNameMatchesFirst() {
+        assertThat(index.search("ДРЕЛ", null, 0, 10)).containsExactly(
+                new ItemSearchIndex.Hit(3, 3),
+                new ItemSearchIndex.Hit(1, 2),
+                new ItemSearchIndex.Hit(2, 1));
+        assertThat(index.search("рел", null, 0, 10)).extracting(ItemSearchIndex.Hit::itemId)
+                .containsExactly(3L, 1L, 2L);
+        assertThat(index.search("ль", null, 0, 10)).extracting(ItemSearchIndex.Hit::itemId)
+                .containsExactly(3L, 1L);
+        assertThat(index.search("ёрт", null, 0, 10)).containsExactly(new ItemSearchIndex.Hit(3, 2));
+        assertThat(index.search("зонт", null, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldPageAcrossRelevanceTiers() {
+        assertThat(index.search("дрел", null, 1, 1)).containsExactly(new ItemSearchIndex.Hit(1, 2));
+        assertThat(index.search("дрел", null, 2, 10)).containsExactly(new ItemSearchIndex.Hit(2, 1));
+        assertThat(index.search("дрел", null, 3, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldContinueAfterCursorWithinAndAcrossTiers() {
+        assertThat(index.search("дрел", new ItemSearchCursor(3, 3), 0, 10))
+                .extracting(ItemSearchIndex.Hit::itemId).containsExactly(1L, 2L);
+        assertThat(index.search("дрел", new ItemSearchCursor(2, 1), 0, 10))
+                .containsExactly(new ItemSearchIndex.Hit(2, 1));
+        assertThat(index.search("дрел", new ItemSearchCursor(1, 2), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReflectAddedAndUpdatedItems() {
+        Item item = Item.builder().id(5L).name("Кофемашина").description("Рожковая").available(true).build();
+        index.add(item);
+        assertThat(index.search("кофе", null, 0, 10)).containsExactly(new ItemSearchIndex.Hit(5, 2));
+
+        IndexedItem before = IndexedItem.of(item);
+        item.setName("Кофемолка");
+        index.update(before, item);
+        assertThat(index.search("машин", null, 0, 10)).isEmpty();
+        assertThat(index.search("молка", null, 0, 10)).containsExactly(new ItemSearchIndex.Hit(5, 2));
+
+        before = IndexedItem.of(item);
+        item.setAvailable(false);
+        index.update(before, item);
+        assertThat(index.search("молка", null, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldAnswerOnlySingleTermQueries() {
+        assertThat(ItemSearchIndex.canAnswer("дрель2000")).isTrue();
+        assertThat(ItemSearchIndex.canAnswer("ударная дрель")).isFalse();
+        assertThat(ItemSearchIndex.canAnswer("0%")).isFalse();
+        assertThat(ItemSearchIndex.canAnswer("")).isFalse();
+    }
+
+    @Test
+    void shouldSplitTextIntoLowerCaseTerms() {
+        assertThat(ItemSearchIndex.terms("Шуруповёрт-Дрель, 18В  дрель"))
+                .containsExactlyInAnyOrder("шуруповёрт", "дрель", "18в");
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameTrieTest {
+
+    private final NameTrie trie = new NameTrie();
+
+    @Test
+    void shouldCompleteCaseInsensitivelyInLexicographicOrder() {
+        trie.add("Дрель ударная");
+        trie.add("Дрель");
+        trie.add("Держатель");
+        trie.add("Палатка");
+
+        assertThat(trie.complete("дР", 10)).containsExactly("Дрель", "Дрель ударная");
+        assertThat(trie.complete("д", 10)).containsExactly("Держатель", "Дрель", "Дрель ударная");
+        assertThat(trie.complete("дрель у", 10)).containsExactly("Дрель ударная");
+        assertThat(trie.complete("дрели", 10)).isEmpty();
+        assertThat(trie.complete("дрель ударная!", 10)).isEmpty();
+        assertThat(trie.complete("д", 2)).containsExactly("Держатель", "Дрель");
+    }
+
+    @Test
+    void shouldKeepNameWhileAnyItemWithItRemains() {
+        trie.add("Дрель");
+        trie.add("дрель");
+
+        trie.remove("Дрель");
+        assertThat(trie.complete("дре", 10)).containsExactly("дрель");
+        assertThat(trie.size()).isEqualTo(1);
+
+        trie.remove("ДРЕЛЬ");
+        assertThat(trie.complete("дре", 10)).containsExactly("дрель");
+
+        trie.remove("дрель");
+        assertThat(trie.complete("дре", 10)).isEmpty();
+        assertThat(trie.size()).isZero();
+    }
+
+    @Test
+    void shouldShowMostCommonSpelling() {
+        trie.add("дрель");
+        trie.add("Дрель");
+        assertThat(trie.complete("дре", 10)).containsExactly("дрель");
+
+        trie.add("Дрель");
+        assertThat(trie.complete("дре", 10)).containsExactly("Дрель");
+
+        trie.remove("Дрель");
+        trie.remove("Дрель");
+        assertThat(trie.complete("дре", 10)).containsExactly("дрель");
+        assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStayConsistentAfterRemovingSplitNodes() {
+        trie.add("Дрель");
+        trie.add("Дрель ударная");
+        trie.add("Дрезина");
+
+        trie.remove("Дрель");
+        trie.remove("Неизвестная вещь");
+        trie.remove("Дре");
+        assertThat(trie.complete("дре", 10)).containsExactly("Дрезина", "Дрель ударная");
+
+        trie.remove("Дрезина");
+        trie.add("Дрель");
+        assertThat(trie.complete("д", 10)).containsExactly("Дрель", "Дрель ударная");
+        assertThat(trie.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.tracing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+    private static final Runnable NOOP = () -> {
+    };
+
+    private final SpanRecorder recorder = new SpanRecorder(100);
+    private final Tracer tracer = new Tracer(recorder, "shareit-server", 1.0);
+    private final TracingFilter filter = new TracingFilter(tracer);
+
+    @Test
+    void shouldContinueGatewayTraceAndNameSpanByRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/7");
+        request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+
+        execute(request, NOOP);
+
+        List<RecordedSpan> spans = recorder.findByTraceId(TRACE_ID);
+        assertThat(spans).hasSize(1);
+        RecordedSpan span = spans.getFirst();
+        assertThat(span.parentSpanId()).isEqualTo(PARENT_SPAN_ID);
+        assertThat(span.name()).isEqualTo("GET /bookings/{bookingId}");
+        assertThat(span.kind()).isEqualTo("SERVER");
+        assertThat(span.attributes()).containsEntry("http.status", "200");
+    }
+
+    @Test
+    void shouldRecordServiceSpansAndAggregateMapperCalls() throws Exception {
+        Runnable service = traced(NOOP, "service", "BookingServiceImpl", false);
+        Runnable mapper = traced(NOOP, "mapper", "BookingMapper", true);
+
+        execute(new MockHttpServletRequest("GET", "/bookings/7"), () -> {
+            service.run();
+            mapper.run();
+            mapper.run();
+        });
+
+        List<RecordedSpan> spans = recorder.recent(10);
+        assertThat(spans).extracting(RecordedSpan::name)
+                .containsExactlyInAnyOrder("GET /bookings/{bookingId}", "BookingServiceImpl.run", "BookingMapper.run");
+        RecordedSpan root = spans.stream().filter(span -> span.parentSpanId() == null).findFirst().orElseThrow();
+        assertThat(spans).filteredOn(span -> span != root)
+                .allSatisfy(span -> assertThat(span.parentSpanId()).isEqualTo(root.spanId()));
+        assertThat(spans).filteredOn(span -> span.name().equals("BookingMapper.run"))
+                .singleElement()
+                .satisfies(span -> assertThat(span.attributes()).containsEntry("calls", "2"));
+    }
+
+    @Test
+    void shouldNotRecordUnsampledTrace() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-00");
+        Runnable service = traced(NOOP, "service", "ItemServiceImpl", false);
+
+        execute(request, service);
+
+        assertThat(recorder.recent(10)).isEmpty();
+    }
+
+    @Test
+    void shouldMarkSpanAsFailedOnException() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+
+        try {
+            execute(request, () -> {
+                throw new IllegalStateException("boom");
+            });
+        } catch (Exception ignored) {
+            // ошибка должна дойти до контейнера
+        }
+
+        assertThat(recorder.recent(1)).singleElement().satisfies(span -> {
+            assertThat(span.error()).isTrue();
+            assertThat(span.attributes()).containsEntry("error.type", "IllegalStateException");
+        });
+    }
+
+    private Runnable traced(Runnable target, String component, String prefix, boolean aggregated) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("tracer", tracer);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(Runnable.class);
+        proxyFactory.addAdvice(new TracingMethodInterceptor(beanFactory.getBeanProvider(Tracer.class), component,
+                prefix, aggregated));
+        return (Runnable) proxyFactory.getProxy();
+    }
+
+    private void execute(MockHttpServletRequest request, Runnable handler) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                        req.getRequestURI().startsWith("/bookings/") ? "/bookings/{bookingId}" : req.getRequestURI());
+                handler.run();
+            }
+        }));
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.request.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.request.UpdateUserRequestDto;
@@ -19,6 +21,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,6 +29,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -109,6 +113,21 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.email").value(userResponseDtoBeforeUpdate.getEmail()));
     }
 
+    @Test
+    void shouldMarkNotFoundCausedByUnknownUser() throws Exception {
+        when(userService.getUserById(99L)).thenThrow(new UserNotFoundException(99L));
+        doThrow(new NotFoundException("Вещь с id=5 не найдена")).when(userService).deleteUserById(1L);
+
+        mvc.perform(get("/users/99")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Unknown-User-Id", "99"))
+                .andExpect(jsonPath("$.description").value("Пользователь с id=99 не найден"));
+        mvc.perform(delete("/users/1"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("X-Unknown-User-Id"));
+    }
+
     @Test
     void shouldUpdateUserById() throws Exception {
         when(userService.updateUser(1L, updateUserRequestDto))
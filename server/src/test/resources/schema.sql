@@ -67,4 +67,8 @@ CREATE TABLE IF NOT EXISTS bookings
     CONSTRAINT fk_bookings_booker_id FOREIGN KEY (booker_id) REFERENCES users (id)
         ON UPDATE CASCADE ON DELETE CASCADE,
     CONSTRAINT ck_bookings_dates CHECK (end_date > start_date)
-);
\ No newline at end of file
+);
+
+-- списки бронирований читаются страницами по убыванию (start_date, id) отдельно для арендатора и для вещи
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
\ No newline at end of file
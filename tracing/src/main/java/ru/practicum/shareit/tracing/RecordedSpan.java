@@ -0,0 +1,18 @@
+package ru.practicum.shareit.tracing;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record RecordedSpan(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String service,
+        String name,
+        String kind,
+        Instant start,
+        long durationMicros,
+        boolean error,
+        Map<String, String> attributes
+) {
+}
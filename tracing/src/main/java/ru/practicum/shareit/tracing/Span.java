@@ -0,0 +1,100 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// не потокобезопасен: спан живёт в одном потоке, который его начал
+public final class Span {
+
+    private final Tracer tracer;
+    private final SpanContext context;
+    @Nullable
+    private final String parentSpanId;
+    private final String kind;
+    private final Instant start = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final Map<String, Aggregate> aggregates = new LinkedHashMap<>();
+
+    private String name;
+    private boolean error;
+    private boolean ended;
+
+    Span(Tracer tracer, SpanContext context, @Nullable String parentSpanId, String name, String kind) {
+        this.tracer = tracer;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+    }
+
+    public SpanContext context() {
+        return context;
+    }
+
+    public boolean isRecording() {
+        return context.sampled();
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setAttribute(String key, Object value) {
+        attributes.put(key, String.valueOf(value));
+    }
+
+    public void recordError(Throwable throwable) {
+        error = true;
+        attributes.put("error.type", throwable.getClass().getSimpleName());
+        if (throwable.getMessage() != null) {
+            attributes.put("error.message", throwable.getMessage());
+        }
+    }
+
+    public Tracer.Scope makeCurrent() {
+        return Tracer.makeCurrent(this);
+    }
+
+    public void end() {
+        if (ended || !isRecording()) {
+            ended = true;
+            return;
+        }
+        ended = true;
+        long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        for (Map.Entry<String, Aggregate> entry : aggregates.entrySet()) {
+            Aggregate aggregate = entry.getValue();
+            tracer.record(new RecordedSpan(context.traceId(), SpanContext.newSpanId(), context.spanId(),
+                    tracer.getService(), entry.getKey(), "INTERNAL", aggregate.start,
+                    TimeUnit.NANOSECONDS.toMicros(aggregate.nanos), aggregate.error,
+                    Map.of("calls", String.valueOf(aggregate.calls), "aggregated", "true")));
+        }
+        tracer.record(new RecordedSpan(context.traceId(), context.spanId(), parentSpanId, tracer.getService(),
+                name, kind, start, durationMicros, error, Map.copyOf(attributes)));
+    }
+
+    // частые мелкие вызовы (маппинг каждого элемента списка) сворачиваются в один спан с числом вызовов
+    void aggregate(String name, Instant callStart, long nanos, boolean failed) {
+        Aggregate aggregate = aggregates.computeIfAbsent(name, key -> new Aggregate(callStart));
+        aggregate.calls++;
+        aggregate.nanos += nanos;
+        aggregate.error |= failed;
+    }
+
+    private static final class Aggregate {
+
+        private final Instant start;
+        private int calls;
+        private long nanos;
+        private boolean error;
+
+        private Aggregate(Instant start) {
+            this.start = start;
+        }
+    }
+}
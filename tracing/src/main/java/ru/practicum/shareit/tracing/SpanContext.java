@@ -0,0 +1,43 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.lang.Nullable;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// идентификаторы в формате W3C traceparent: 00-<trace-id>-<span-id>-<флаги>
+public record SpanContext(String traceId, String spanId, boolean sampled) {
+
+    public static final String TRACEPARENT_HEADER_NAME = "traceparent";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Nullable
+    public static SpanContext parse(@Nullable String traceparent) {
+        if (traceparent == null) {
+            return null;
+        }
+        Matcher matcher = TRACEPARENT.matcher(traceparent.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        boolean sampled = (HEX.fromHexDigits(matcher.group(3)) & 1) == 1;
+        return new SpanContext(matcher.group(1), matcher.group(2), sampled);
+    }
+
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong());
+    }
+
+    public static String newSpanId() {
+        return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// кольцевой буфер последних завершённых спанов; старые перезаписываются, внешний сборщик не нужен
+public class SpanRecorder {
+
+    private final RecordedSpan[] spans;
+    private long written;
+
+    public SpanRecorder(int capacity) {
+        this.spans = new RecordedSpan[capacity];
+    }
+
+    public synchronized void record(RecordedSpan span) {
+        spans[(int) (written % spans.length)] = span;
+        written++;
+    }
+
+    public synchronized List<RecordedSpan> findByTraceId(String traceId) {
+        List<RecordedSpan> trace = new ArrayList<>();
+        for (RecordedSpan span : spans) {
+            if (span != null && span.traceId().equals(traceId)) {
+                trace.add(span);
+            }
+        }
+        trace.sort(Comparator.comparing(RecordedSpan::start));
+        return trace;
+    }
+
+    // самые свежие первыми
+    public synchronized List<RecordedSpan> recent(int limit) {
+        int size = (int) Math.min(written, spans.length);
+        List<RecordedSpan> recent = new ArrayList<>(Math.min(limit, size));
+        for (int i = 1; i <= Math.min(limit, size); i++) {
+            recent.add(spans[(int) ((written - i) % spans.length)]);
+        }
+        return recent;
+    }
+}
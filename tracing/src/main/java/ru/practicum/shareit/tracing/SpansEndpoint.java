@@ -0,0 +1,29 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+// /actuator/spans — последние спаны, /actuator/spans/{traceId} — все спаны трассы в порядке начала
+@Endpoint(id = "spans")
+@RequiredArgsConstructor
+public class SpansEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final SpanRecorder recorder;
+
+    @ReadOperation
+    public List<RecordedSpan> recent(@Nullable Integer limit) {
+        return recorder.recent(limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    @ReadOperation
+    public List<RecordedSpan> trace(@Selector String traceId) {
+        return recorder.findByTraceId(traceId);
+    }
+}
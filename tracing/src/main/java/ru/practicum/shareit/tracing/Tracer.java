@@ -0,0 +1,95 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final SpanRecorder recorder;
+    private final String service;
+    private final double sampleRate;
+
+    public Tracer(SpanRecorder recorder, String service, double sampleRate) {
+        this.recorder = recorder;
+        this.service = service;
+        this.sampleRate = sampleRate;
+    }
+
+    @Nullable
+    public static Span currentSpan() {
+        return CURRENT.get();
+    }
+
+    // работа, вынесенная в другие потоки (хеджи и пакеты gateway), продолжает спан запроса явно
+    public static <T> T callInSpan(@Nullable Span span, Supplier<T> call) {
+        if (span == null) {
+            return call.get();
+        }
+        try (Scope ignored = makeCurrent(span)) {
+            return call.get();
+        }
+    }
+
+    // решение о записи принимает тот, кто начал трассу; без родителя решает sampleRate
+    public Span startRootSpan(String name, String kind, @Nullable SpanContext remoteParent) {
+        if (remoteParent != null) {
+            return new Span(this, new SpanContext(remoteParent.traceId(), SpanContext.newSpanId(),
+                    remoteParent.sampled()), remoteParent.spanId(), name, kind);
+        }
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        return new Span(this, new SpanContext(SpanContext.newTraceId(), SpanContext.newSpanId(), sampled), null,
+                name, kind);
+    }
+
+    // дочерний спан наследует решение о записи: по его traceparent следующий сервис продолжает ту же трассу,
+    // даже незаписываемую
+    @Nullable
+    public Span startChildSpan(String name, String kind) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return null;
+        }
+        return new Span(this, new SpanContext(parent.context().traceId(), SpanContext.newSpanId(),
+                parent.context().sampled()), parent.context().spanId(), name, kind);
+    }
+
+    // частые мелкие вызовы не получают собственных спанов, а сворачиваются в текущем
+    public void aggregate(String name, Instant callStart, long nanos, boolean failed) {
+        Span parent = CURRENT.get();
+        if (parent != null && parent.isRecording()) {
+            parent.aggregate(name, callStart, nanos, failed);
+        }
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    static Scope makeCurrent(Span span) {
+        Span previous = CURRENT.get();
+        CURRENT.set(span);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    void record(RecordedSpan span) {
+        recorder.record(span);
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// корневой спан запроса продолжает трассу из заголовка traceparent, без него начинает новую
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SpanContext parent = SpanContext.parse(request.getHeader(SpanContext.TRACEPARENT_HEADER_NAME));
+        Span span = tracer.startRootSpan(request.getMethod() + " " + request.getRequestURI(), "SERVER", parent);
+        span.setAttribute("http.method", request.getMethod());
+        span.setAttribute("http.path", request.getRequestURI());
+        onRootSpanStarted(span, response);
+
+        try (Tracer.Scope ignored = span.makeCurrent()) {
+            filterChain.doFilter(request, response);
+            span.setAttribute("http.status", response.getStatus());
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordError(e);
+            span.setAttribute("http.status", HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            throw e;
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                span.setName(request.getMethod() + " " + route);
+                span.setAttribute("http.route", route);
+            }
+            span.end();
+        }
+    }
+
+    // до вызова цепочки, пока заголовки ответа ещё можно менять
+    protected void onRootSpanStarted(Span span, HttpServletResponse response) {
+    }
+}
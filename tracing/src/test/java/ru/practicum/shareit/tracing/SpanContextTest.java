@@ -0,0 +1,28 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpanContextTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+
+    @Test
+    void shouldRoundTripTraceparent() {
+        SpanContext context = SpanContext.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+
+        assertThat(context).isEqualTo(new SpanContext(TRACE_ID, SPAN_ID, true));
+        assertThat(context.traceparent()).isEqualTo("00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+        assertThat(SpanContext.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-00").sampled()).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreMalformedTraceparent() {
+        assertThat(SpanContext.parse(null)).isNull();
+        assertThat(SpanContext.parse("01-" + TRACE_ID + "-" + SPAN_ID + "-01")).isNull();
+        assertThat(SpanContext.parse("00-" + TRACE_ID.toUpperCase() + "-" + SPAN_ID + "-01")).isNull();
+        assertThat(SpanContext.parse("00-" + TRACE_ID + "-" + SPAN_ID)).isNull();
+    }
+}